@@ -0,0 +1,159 @@
+package com.eldritchvoid.benchmark;
+
+import com.eldritchvoid.core.capability.ElderCapability;
+import com.eldritchvoid.core.energy.BaseVoidEnergyStorage;
+import com.eldritchvoid.core.energy.VoidEnergyStorage;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Marker;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.ChestBlockEntity;
+import net.minecraft.world.level.block.entity.FurnaceBlockEntity;
+import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for the {@link ElderCapability} access methods on real lookups.
+ * The vanilla registries are bootstrapped and the capability is attached to furnaces and markers,
+ * then handed to NeoForge the same way the mod does during capability registration. Each access
+ * method is measured against a block entity and an entity that have the capability and against
+ * ones that do not. Block lookups go through a level, which a JMH fork cannot load, so the block
+ * entities sit in a level object created without running its constructor; the lookup only passes
+ * it through because the state and block entity are already known.
+ * Run with {@code -PjmhProfiler=gc} to compare bytes per operation: {@code getFrom} allocates an
+ * {@link Optional} for every hit, while {@code getOrNull} and {@code ifPresent} should not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElderCapabilityBenchmark {
+    private ElderCapability<VoidEnergyStorage> capability;
+    private BlockEntity presentBlockEntity;
+    private BlockEntity missingBlockEntity;
+    private Entity presentEntity;
+    private Entity missingEntity;
+    private Direction side;
+    private VoidEnergyStorage seen;
+    private Consumer<VoidEnergyStorage> sink;
+    
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        
+        capability = ElderCapability.register("benchmark_energy", VoidEnergyStorage.class, () -> new BaseVoidEnergyStorage(1000));
+        capability.attachTo(Blocks.FURNACE, new BaseVoidEnergyStorage(1000));
+        capability.attachToEntity(() -> EntityType.MARKER);
+        ElderCapability.registerCapabilities(new RegisterCapabilitiesEvent());
+        
+        ServerLevel level = allocateLevel();
+        presentBlockEntity = new FurnaceBlockEntity(BlockPos.ZERO, Blocks.FURNACE.defaultBlockState());
+        presentBlockEntity.setLevel(level);
+        missingBlockEntity = new ChestBlockEntity(BlockPos.ZERO.above(), Blocks.CHEST.defaultBlockState());
+        missingBlockEntity.setLevel(level);
+        presentEntity = new Marker(EntityType.MARKER, level);
+        missingEntity = new AreaEffectCloud(EntityType.AREA_EFFECT_CLOUD, level);
+        
+        side = Direction.NORTH;
+        // Created once so the consumer-style benchmarks do not measure lambda allocation
+        sink = storage -> seen = storage;
+        
+        if (capability.getOrNull(presentBlockEntity, side) == null || capability.getOrNull(presentEntity, side) == null) {
+            throw new IllegalStateException("Benchmark capability was not attached");
+        }
+    }
+    
+    /**
+     * Create a level without running its constructor, which needs a running server.
+     */
+    private static ServerLevel allocateLevel() throws ReflectiveOperationException {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (ServerLevel) ((Unsafe) field.get(null)).allocateInstance(ServerLevel.class);
+    }
+    
+    @Benchmark
+    public Optional<VoidEnergyStorage> getFromBlockEntityPresent() {
+        return capability.getFrom(presentBlockEntity, side);
+    }
+    
+    @Benchmark
+    public Optional<VoidEnergyStorage> getFromBlockEntityAbsent() {
+        return capability.getFrom(missingBlockEntity, side);
+    }
+    
+    @Benchmark
+    public Optional<VoidEnergyStorage> getFromEntityPresent() {
+        return capability.getFrom(presentEntity, side);
+    }
+    
+    @Benchmark
+    public Optional<VoidEnergyStorage> getFromEntityAbsent() {
+        return capability.getFrom(missingEntity, side);
+    }
+    
+    @Benchmark
+    public VoidEnergyStorage getOrNullBlockEntityPresent() {
+        return capability.getOrNull(presentBlockEntity, side);
+    }
+    
+    @Benchmark
+    public VoidEnergyStorage getOrNullBlockEntityAbsent() {
+        return capability.getOrNull(missingBlockEntity, side);
+    }
+    
+    @Benchmark
+    public VoidEnergyStorage getOrNullEntityPresent() {
+        return capability.getOrNull(presentEntity, side);
+    }
+    
+    @Benchmark
+    public VoidEnergyStorage getOrNullEntityAbsent() {
+        return capability.getOrNull(missingEntity, side);
+    }
+    
+    @Benchmark
+    public boolean ifPresentBlockEntityPresent() {
+        return capability.ifPresent(presentBlockEntity, side, sink);
+    }
+    
+    @Benchmark
+    public boolean ifPresentBlockEntityAbsent() {
+        return capability.ifPresent(missingBlockEntity, side, sink);
+    }
+    
+    @Benchmark
+    public boolean ifPresentEntityPresent() {
+        return capability.ifPresent(presentEntity, side, sink);
+    }
+    
+    @Benchmark
+    public boolean ifPresentEntityAbsent() {
+        return capability.ifPresent(missingEntity, side, sink);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.eldritchvoid.benchmark;
+
+import com.eldritchvoid.core.config.ModuleConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ModuleConfig#getConfig}.
+ * Configs are defined but never built, since building registers the spec with the mod loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleConfigBenchmark {
+    private static final int MODULES = 8;
+    private static final int VALUES_PER_MODULE = 32;
+    
+    @Setup
+    public void setup() {
+        for (int m = 0; m < MODULES; m++) {
+            ModuleConfig config = new ModuleConfig("benchmark_module_" + m);
+            config.push("general");
+            for (int v = 0; v < VALUES_PER_MODULE; v++) {
+                config.defineInt("value_" + v, v, "Benchmark value " + v);
+            }
+            config.pop();
+        }
+    }
+    
+    @Benchmark
+    public ModuleConfig.ConfigValue<Integer> getConfigHit() {
+        return ModuleConfig.getConfig("benchmark_module_3", "value_17");
+    }
+    
+    @Benchmark
+    public ModuleConfig.ConfigValue<Integer> getConfigMissingPath() {
+        return ModuleConfig.getConfig("benchmark_module_3", "missing");
+    }
+    
+    @Benchmark
+    public ModuleConfig.ConfigValue<Integer> getConfigMissingModule() {
+        return ModuleConfig.getConfig("missing_module", "value_17");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.eldritchvoid.benchmark;
+
+import com.eldritchvoid.core.event.ModuleEvent;
+import com.eldritchvoid.core.event.ModuleEventBus;
+import com.eldritchvoid.core.event.ModuleEventDispatcher;
+import net.neoforged.bus.api.BusBuilder;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.bus.api.SubscribeEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting a module event on the mod's own dispatcher against a NeoForge event bus,
+ * which is what {@link ModuleEventBus} forwarded to before it had a dispatcher of its own.
+ * Both buses get the same listeners; the event is reused so only dispatch is measured.
+ * Listeners are either added as lambdas or registered as {@link SubscribeEvent} methods of listener
+ * objects, which both buses bind through {@code LambdaMetafactory}. This benchmark source set does not
+ * run the subscriber index processor, so the dispatcher binds the methods itself as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleEventBusBenchmark {
+    @Param({"1", "8", "32"})
+    public int listeners;
+    
+    @Param({"lambda", "subscriber"})
+    public String registration;
+    
+    private ModuleEventDispatcher dispatcher;
+    private IEventBus neoForgeBus;
+    private ModuleEventBus.BlockActivatedEvent event;
+    private long received;
+    
+    @Setup
+    public void setup() {
+        dispatcher = new ModuleEventDispatcher();
+        neoForgeBus = BusBuilder.builder().build();
+        event = new ModuleEventBus.BlockActivatedEvent(null, null, null, "benchmark", null);
+        
+        for (int i = 0; i < listeners; i++) {
+            if (registration.equals("subscriber")) {
+                Subscriber subscriber = new Subscriber();
+                dispatcher.register(subscriber, ModuleEvent.class);
+                neoForgeBus.register(subscriber);
+            } else {
+                dispatcher.addListener(EventPriority.NORMAL, false, ModuleEventBus.BlockActivatedEvent.class, this::onActivated);
+                neoForgeBus.addListener(EventPriority.NORMAL, false, ModuleEventBus.BlockActivatedEvent.class, this::onActivated);
+            }
+        }
+    }
+    
+    private void onActivated(ModuleEventBus.BlockActivatedEvent activated) {
+        received++;
+    }
+    
+    /**
+     * A listener object registered through its annotated method.
+     */
+    public static class Subscriber {
+        private long received;
+        
+        @SubscribeEvent
+        public void onActivated(ModuleEventBus.BlockActivatedEvent activated) {
+            received++;
+        }
+    }
+    
+    @Benchmark
+    public Object postModuleDispatcher() {
+        return dispatcher.post(event);
+    }
+    
+    @Benchmark
+    public Object postNeoForgeBus() {
+        return neoForgeBus.post(event);
+    }
+}
\ No newline at end of file
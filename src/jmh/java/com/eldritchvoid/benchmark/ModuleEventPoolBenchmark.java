@@ -0,0 +1,45 @@
+package com.eldritchvoid.benchmark;
+
+import com.eldritchvoid.core.event.ModuleEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting a freshly allocated module event against posting a pooled one.
+ * Run with {@code -PjmhProfiler=gc} to see the allocation rate of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleEventPoolBenchmark {
+    private long received;
+    
+    @Setup
+    public void setup() {
+        ModuleEventBus.addListener(ModuleEventBus.BlockActivatedEvent.class, event -> received++);
+    }
+    
+    @Benchmark
+    public Object postFresh() {
+        return ModuleEventBus.post(new ModuleEventBus.BlockActivatedEvent(null, null, null, "benchmark", null));
+    }
+    
+    @Benchmark
+    public long postPooled() {
+        ModuleEventBus.postBlockActivated(null, null, null, "benchmark", null);
+        return received;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.eldritchvoid.benchmark;
+
+import com.eldritchvoid.core.registry.ModuleRegistry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.item.Item;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ModuleRegistry#getEntriesForModule}.
+ * Entries are registered against the item registry key only; the suppliers are never called,
+ * so no game bootstrap is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleRegistryBenchmark {
+    private static final int MODULES = 10;
+    
+    @Param({"10", "100"})
+    public int entriesPerModule;
+    
+    private ModuleRegistry<Item> registry;
+    
+    @Setup
+    public void setup() {
+        registry = new ModuleRegistry<>("Benchmark Items", Registries.ITEM);
+        for (int m = 0; m < MODULES; m++) {
+            for (int e = 0; e < entriesPerModule; e++) {
+                registry.register("module" + m, "item_" + e, () -> null);
+            }
+        }
+    }
+    
+    @Benchmark
+    public Collection<DeferredHolder<Item, Item>> getEntriesForModule() {
+        return registry.getEntriesForModule("module4");
+    }
+    
+    @Benchmark
+    public Collection<DeferredHolder<Item, Item>> getEntriesForMissingModule() {
+        return registry.getEntriesForModule("missing");
+    }
+}
\ No newline at end of file
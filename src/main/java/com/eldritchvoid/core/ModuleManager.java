@@ -1,6 +1,7 @@
 package com.eldritchvoid.core;
 
 import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.capability.ElderCapability;
 import com.eldritchvoid.core.event.ModuleEventBus;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
@@ -28,6 +29,7 @@ public class ModuleManager {
         // Register event handlers
         modBus.addListener(this::onCommonSetup);
         modBus.addListener(this::onClientSetup);
+        modBus.addListener(ElderCapability::registerCapabilities);
         
         EldritchVoid.LOGGER.info("Module manager initialized");
     }
@@ -190,9 +192,11 @@ public class ModuleManager {
     
     /**
      * Post a module event.
+     * If the event's type is queued, it is returned before any listener has run; see
+     * {@link ModuleEventBus#post}.
      *
      * @param event The event to post
-     * @return The posted event
+     * @return The posted event, which has not been dispatched yet if its type is queued
      */
     public net.neoforged.bus.api.Event postModuleEvent(net.neoforged.bus.api.Event event) {
         return ModuleEventBus.post(event);
@@ -6,39 +6,62 @@ import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.neoforged.neoforge.capabilities.BlockCapability;
 import net.neoforged.neoforge.capabilities.EntityCapability;
+import net.neoforged.neoforge.capabilities.IBlockCapabilityProvider;
 import net.neoforged.neoforge.capabilities.ItemCapability;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * A capability system for the Eldritch Void mod.
  * Allows modules to define and use capabilities on blocks, items, and entities.
  * Compatible with NeoForge 1.21.5.
+ * Capabilities can be registered from several threads during module initialization. Once
+ * capabilities have been registered with NeoForge the registry is frozen into an array indexed
+ * by {@link #getIndex()}, and lookups from any thread no longer touch a shared mutable map.
  *
  * @param <T> The capability type
  */
 public class ElderCapability<T> {
-    private static final Map<String, ElderCapability<?>> CAPABILITIES = new HashMap<>();
+    private static final Map<String, ElderCapability<?>> CAPABILITIES = new ConcurrentHashMap<>();
+    private static volatile FrozenRegistry frozen = null;
     
     private final String id;
     private final Class<T> capabilityClass;
     private final Supplier<T> defaultProvider;
     private final ResourceLocation resourceLocation;
+    private int index = -1;
     
     // Capability tokens for different types
     private BlockCapability<T, Direction> blockCapability;
     private ItemCapability<T, Direction> itemCapability;
     private EntityCapability<T, Direction> entityCapability;
     
+    // Block providers declared by modules, flushed into RegisterCapabilitiesEvent
+    private final List<BlockAttachment<T>> blockAttachments = new CopyOnWriteArrayList<>();
+    // One provider per shared instance, so blocks attached to the same instance are registered together
+    private final Map<T, IBlockCapabilityProvider<T, Direction>> instanceProviders = new IdentityHashMap<>();
+    private final List<Supplier<? extends EntityType<?>>> entityAttachments = new CopyOnWriteArrayList<>();
+    private volatile EntityCapabilityStore<T> entityStore;
+    
     /**
      * Create a new capability.
      *
@@ -67,43 +90,186 @@ public class ElderCapability<T> {
      * @param defaultProvider The default capability provider
      * @param <T> The capability type
      * @return The capability instance
+     * @throws IllegalStateException If the registry has already been frozen
      */
-    public static <T> ElderCapability<T> register(String id, Class<T> capabilityClass, Supplier<T> defaultProvider) {
-        if (CAPABILITIES.containsKey(id)) {
-            EldritchVoid.LOGGER.error("Capability with id {} already registered", id);
-            // Return the existing capability
-            return (ElderCapability<T>) CAPABILITIES.get(id);
+    public static synchronized <T> ElderCapability<T> register(String id, Class<T> capabilityClass, Supplier<T> defaultProvider) {
+        // Holds the same lock as freeze(), so a registration cannot slip in after the snapshot
+        if (frozen != null) {
+            throw new IllegalStateException("Capability " + id + " registered after the capability registry was frozen");
+        }
+        
+        ElderCapability<?> existing = CAPABILITIES.get(id);
+        if (existing == null) {
+            ElderCapability<T> capability = new ElderCapability<>(id, capabilityClass, defaultProvider);
+            existing = CAPABILITIES.putIfAbsent(id, capability);
+            if (existing == null) {
+                EldritchVoid.LOGGER.info("Registered capability: {}", id);
+                return capability;
+            }
         }
         
-        ElderCapability<T> capability = new ElderCapability<>(id, capabilityClass, defaultProvider);
-        CAPABILITIES.put(id, capability);
-        EldritchVoid.LOGGER.info("Registered capability: {}", id);
+        EldritchVoid.LOGGER.error("Capability with id {} already registered", id);
+        // Return the existing capability
+        return (ElderCapability<T>) existing;
+    }
+    
+    /**
+     * Close registration and build the id-indexed lookup array.
+     * Indices follow the alphabetical order of capability IDs, so they are stable between runs
+     * with the same set of capabilities. Calling this again has no effect.
+     */
+    public static synchronized void freeze() {
+        if (frozen != null) return;
+        
+        ElderCapability<?>[] byIndex = CAPABILITIES.values().toArray(new ElderCapability<?>[0]);
+        Arrays.sort(byIndex, Comparator.comparing(ElderCapability::getId));
+        for (int i = 0; i < byIndex.length; i++) {
+            byIndex[i].index = i;
+        }
         
-        return capability;
+        frozen = new FrozenRegistry(byIndex, Map.copyOf(CAPABILITIES));
+        EldritchVoid.LOGGER.info("Froze capability registry with {} capabilities", byIndex.length);
+    }
+    
+    /**
+     * Check whether the registry has been frozen.
+     *
+     * @return True if no more capabilities can be registered
+     */
+    public static boolean isFrozen() {
+        return frozen != null;
+    }
+    
+    /**
+     * Get a registered capability by ID.
+     *
+     * @param id The capability ID
+     * @return The capability, or null if none is registered under the ID
+     */
+    public static ElderCapability<?> byId(String id) {
+        FrozenRegistry registry = frozen;
+        return registry != null ? registry.byId().get(id) : CAPABILITIES.get(id);
+    }
+    
+    /**
+     * Get a capability by its index in the frozen registry.
+     *
+     * @param index The capability index
+     * @return The capability, or null if the index is out of range or the registry is not frozen yet
+     */
+    public static ElderCapability<?> byIndex(int index) {
+        FrozenRegistry registry = frozen;
+        if (registry == null || index < 0 || index >= registry.byIndex().length) return null;
+        return registry.byIndex()[index];
     }
     
     /**
-     * Attach a capability to a block.
+     * Get the number of registered capabilities.
+     *
+     * @return The capability count
+     */
+    public static int count() {
+        FrozenRegistry registry = frozen;
+        return registry != null ? registry.byIndex().length : CAPABILITIES.size();
+    }
+    
+    /**
+     * Attach a capability instance to a block.
+     * Every placed block shares the same instance, so this suits stateless capabilities;
+     * use {@link #attachTo(Supplier, IBlockCapabilityProvider)} for per-block state. Blocks attached to
+     * the same instance share one provider.
      *
      * @param block The block
      * @param instance The capability instance
+     * @throws IllegalStateException If capabilities have already been registered with NeoForge
      */
     public void attachTo(Block block, T instance) {
-        // Implementation will depend on specific NeoForge capability registration
-        // This might need to be handled differently in a real implementation
-        EldritchVoid.LOGGER.info("Attached capability {} to block {}", id, block.getDescriptionId());
+        synchronized (ElderCapability.class) {
+            IBlockCapabilityProvider<T, Direction> provider = instanceProviders.computeIfAbsent(instance,
+                    shared -> (level, pos, state, blockEntity, side) -> shared);
+            attachTo(() -> block, provider);
+        }
+    }
+    
+    /**
+     * Attach a capability provider to a block.
+     * Attachments are only recorded here; they are handed to NeoForge when capabilities are
+     * registered, so modules should declare them during {@link com.eldritchvoid.core.Module#registerContent}.
+     *
+     * @param block The block, resolved when capabilities are registered
+     * @param provider The provider for the capability on the block
+     * @throws IllegalStateException If capabilities have already been registered with NeoForge
+     */
+    public void attachTo(Supplier<? extends Block> block, IBlockCapabilityProvider<T, Direction> provider) {
+        synchronized (ElderCapability.class) {
+            checkNotFrozen("Block provider");
+            blockAttachments.add(new BlockAttachment<>(block, provider));
+        }
     }
     
     /**
      * Get a capability from a block entity.
+     * Every call resolves the providers again; use {@link #createNeighborCache} for repeated lookups.
      *
      * @param blockEntity The block entity
      * @param direction The side to get the capability from, or null for any side
      * @return The capability instance, if present
      */
     public Optional<T> getFrom(BlockEntity blockEntity, Direction direction) {
-        if (blockEntity == null) return Optional.empty();
-        return Optional.ofNullable(blockEntity.getLevel().getCapability(blockCapability, blockEntity.getBlockPos(), blockEntity.getBlockState(), blockEntity, direction));
+        return Optional.ofNullable(getOrNull(blockEntity, direction));
+    }
+    
+    /**
+     * Get a capability from a block entity without wrapping it in an {@link Optional}.
+     *
+     * @param blockEntity The block entity
+     * @param direction The side to get the capability from, or null for any side
+     * @return The capability instance, or null if absent
+     */
+    public T getOrNull(BlockEntity blockEntity, Direction direction) {
+        if (blockEntity == null) return null;
+        Level level = blockEntity.getLevel();
+        if (level == null) return null;
+        return level.getCapability(blockCapability, blockEntity.getBlockPos(), blockEntity.getBlockState(), blockEntity, direction);
+    }
+    
+    /**
+     * Run an action with the capability of a block entity if it has one.
+     * Nothing is allocated as long as the action is not a capturing lambda created per call.
+     *
+     * @param blockEntity The block entity
+     * @param direction The side to get the capability from, or null for any side
+     * @param action The action to run with the capability instance
+     * @return True if the capability was present
+     */
+    public boolean ifPresent(BlockEntity blockEntity, Direction direction, Consumer<? super T> action) {
+        T instance = getOrNull(blockEntity, direction);
+        if (instance == null) return false;
+        action.accept(instance);
+        return true;
+    }
+    
+    /**
+     * Create a cache for looking up this capability on the neighbors of a block entity.
+     * The block entity should keep the cache for as long as it exists.
+     *
+     * @param owner The block entity whose neighbors are looked up
+     * @return A new neighbor cache
+     */
+    public ElderCapabilityCache<T> createNeighborCache(BlockEntity owner) {
+        return new ElderCapabilityCache<>(blockCapability, owner, null);
+    }
+    
+    /**
+     * Create a cache for looking up this capability on the neighbors of a block entity.
+     * The block entity should keep the cache for as long as it exists.
+     *
+     * @param owner The block entity whose neighbors are looked up
+     * @param invalidationListener Called whenever a neighbor is replaced, removed or invalidated
+     * @return A new neighbor cache
+     */
+    public ElderCapabilityCache<T> createNeighborCache(BlockEntity owner, Runnable invalidationListener) {
+        return new ElderCapabilityCache<>(blockCapability, owner, invalidationListener);
     }
     
     /**
@@ -114,8 +280,34 @@ public class ElderCapability<T> {
      * @return The capability instance, if present
      */
     public Optional<T> getFrom(ItemStack stack, Direction direction) {
-        if (stack.isEmpty()) return Optional.empty();
-        return Optional.ofNullable(stack.getCapability(itemCapability, direction));
+        return Optional.ofNullable(getOrNull(stack, direction));
+    }
+    
+    /**
+     * Get a capability from an item stack without wrapping it in an {@link Optional}.
+     *
+     * @param stack The item stack
+     * @param direction The side to get the capability from, or null for any side
+     * @return The capability instance, or null if absent
+     */
+    public T getOrNull(ItemStack stack, Direction direction) {
+        if (stack.isEmpty()) return null;
+        return stack.getCapability(itemCapability, direction);
+    }
+    
+    /**
+     * Run an action with the capability of an item stack if it has one.
+     *
+     * @param stack The item stack
+     * @param direction The side to get the capability from, or null for any side
+     * @param action The action to run with the capability instance
+     * @return True if the capability was present
+     */
+    public boolean ifPresent(ItemStack stack, Direction direction, Consumer<? super T> action) {
+        T instance = getOrNull(stack, direction);
+        if (instance == null) return false;
+        action.accept(instance);
+        return true;
     }
     
     /**
@@ -126,8 +318,34 @@ public class ElderCapability<T> {
      * @return The capability instance, if present
      */
     public Optional<T> getFrom(Entity entity, Direction direction) {
-        if (entity == null) return Optional.empty();
-        return Optional.ofNullable(entity.getCapability(entityCapability, direction));
+        return Optional.ofNullable(getOrNull(entity, direction));
+    }
+    
+    /**
+     * Get a capability from an entity without wrapping it in an {@link Optional}.
+     *
+     * @param entity The entity
+     * @param direction The side to get the capability from, or null for any side
+     * @return The capability instance, or null if absent
+     */
+    public T getOrNull(Entity entity, Direction direction) {
+        if (entity == null) return null;
+        return entity.getCapability(entityCapability, direction);
+    }
+    
+    /**
+     * Run an action with the capability of an entity if it has one.
+     *
+     * @param entity The entity
+     * @param direction The side to get the capability from, or null for any side
+     * @param action The action to run with the capability instance
+     * @return True if the capability was present
+     */
+    public boolean ifPresent(Entity entity, Direction direction, Consumer<? super T> action) {
+        T instance = getOrNull(entity, direction);
+        if (instance == null) return false;
+        action.accept(instance);
+        return true;
     }
     
     /**
@@ -139,6 +357,16 @@ public class ElderCapability<T> {
         return id;
     }
     
+    /**
+     * Get the index of this capability in the frozen registry.
+     *
+     * @return The index, or -1 if the registry is not frozen yet
+     */
+    public int getIndex() {
+        // Reading the published registry first makes the index written by freeze() visible
+        return frozen != null ? index : -1;
+    }
+    
     /**
      * Get the capability class.
      *
@@ -193,15 +421,150 @@ public class ElderCapability<T> {
         return entityCapability;
     }
     
+    /**
+     * Create a proxy that exposes one shared handler on every block of a formed multiblock.
+     * Attach the proxy to each member block with {@link #attachTo(Supplier, IBlockCapabilityProvider)}.
+     *
+     * @return A new multiblock proxy
+     */
+    public MultiblockCapabilityProxy<T> createMultiblockProxy() {
+        return new MultiblockCapabilityProxy<>(id);
+    }
+    
+    /**
+     * Attach this capability to an entity type.
+     * Each entity gets its own default instance, held in the {@link #getEntityStore() entity store}
+     * until the entity leaves its level; it is carried over when the entity changes dimension.
+     *
+     * @param entityType The entity type, resolved when capabilities are registered
+     * @throws IllegalStateException If capabilities have already been registered with NeoForge
+     */
+    public void attachToEntity(Supplier<? extends EntityType<?>> entityType) {
+        synchronized (ElderCapability.class) {
+            checkNotFrozen("Entity attachment");
+            entityAttachments.add(entityType);
+        }
+    }
+    
+    /**
+     * Attachments are handed to NeoForge right before the registry freezes, so later ones would never take effect.
+     */
+    private void checkNotFrozen(String what) {
+        if (frozen != null) {
+            throw new IllegalStateException(what + " for capability " + id + " added after capabilities were registered");
+        }
+    }
+    
+    /**
+     * Get the store holding the per-entity instances of this capability.
+     *
+     * @return The entity store
+     */
+    public EntityCapabilityStore<T> getEntityStore() {
+        EntityCapabilityStore<T> store = entityStore;
+        if (store == null) {
+            synchronized (this) {
+                store = entityStore;
+                if (store == null) {
+                    store = new EntityCapabilityStore<>(id, defaultProvider);
+                    entityStore = store;
+                }
+            }
+        }
+        return store;
+    }
+    
     /**
      * Register all capabilities with the NeoForge capability system.
      *
      * @param event The RegisterCapabilitiesEvent
      */
-    public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+    public static synchronized void registerCapabilities(RegisterCapabilitiesEvent event) {
+        int registrations = 0;
         for (ElderCapability<?> capability : CAPABILITIES.values()) {
-            // Register capabilities with NeoForge (exact method depends on NeoForge API)
-            EldritchVoid.LOGGER.info("Registering capability in NeoForge: {}", capability.getId());
+            registrations += capability.flushBlockAttachments(event);
+            registrations += capability.flushEntityAttachments(event);
         }
+        EldritchVoid.LOGGER.info("Registered {} capability providers for {} capabilities", registrations, CAPABILITIES.size());
+        
+        // Providers are bound now, so capabilities registered later could never be attached
+        freeze();
+    }
+    
+    /**
+     * Hand the block attachments of this capability to NeoForge in one batch.
+     * Attachments are grouped per block first; a block with several providers gets one provider
+     * that walks a resolved array, so NeoForge never has to scan a listener list for it. Blocks
+     * that end up with the same providers are then registered together in a single call.
+     *
+     * @param event The RegisterCapabilitiesEvent
+     * @return The number of registration calls made
+     */
+    private int flushBlockAttachments(RegisterCapabilitiesEvent event) {
+        // No attachments can be added after this, so the shared providers are no longer needed
+        instanceProviders.clear();
+        if (blockAttachments.isEmpty()) return 0;
+        
+        Map<Block, List<IBlockCapabilityProvider<T, Direction>>> providersByBlock = new LinkedHashMap<>();
+        for (BlockAttachment<T> attachment : blockAttachments) {
+            providersByBlock.computeIfAbsent(attachment.block().get(), block -> new ArrayList<>(1)).add(attachment.provider());
+        }
+        
+        Map<List<IBlockCapabilityProvider<T, Direction>>, List<Block>> blocksByProviders = new LinkedHashMap<>();
+        for (Map.Entry<Block, List<IBlockCapabilityProvider<T, Direction>>> entry : providersByBlock.entrySet()) {
+            blocksByProviders.computeIfAbsent(entry.getValue(), providers -> new ArrayList<>()).add(entry.getKey());
+        }
+        
+        for (Map.Entry<List<IBlockCapabilityProvider<T, Direction>>, List<Block>> entry : blocksByProviders.entrySet()) {
+            List<IBlockCapabilityProvider<T, Direction>> providers = entry.getKey();
+            IBlockCapabilityProvider<T, Direction> provider = providers.size() == 1 ? providers.get(0) : firstPresent(providers);
+            event.registerBlock(blockCapability, provider, entry.getValue().toArray(new Block[0]));
+        }
+        
+        EldritchVoid.LOGGER.debug("Registered capability {} on {} blocks in {} batches", id, providersByBlock.size(), blocksByProviders.size());
+        return blocksByProviders.size();
+    }
+    
+    /**
+     * Hand the entity attachments of this capability to NeoForge, all backed by the entity store.
+     *
+     * @param event The RegisterCapabilitiesEvent
+     * @return The number of registration calls made
+     */
+    private int flushEntityAttachments(RegisterCapabilitiesEvent event) {
+        if (entityAttachments.isEmpty()) return 0;
+        
+        EntityCapabilityStore<T> store = getEntityStore();
+        for (Supplier<? extends EntityType<?>> entityType : entityAttachments) {
+            event.registerEntity(entityCapability, entityType.get(), (entity, side) -> store.getOrCreate(entity));
+        }
+        return entityAttachments.size();
+    }
+    
+    /**
+     * Combine several providers into one that returns the first non-null capability.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> IBlockCapabilityProvider<T, Direction> firstPresent(List<IBlockCapabilityProvider<T, Direction>> providers) {
+        IBlockCapabilityProvider<T, Direction>[] resolved = providers.toArray(new IBlockCapabilityProvider[0]);
+        return (level, pos, state, blockEntity, side) -> {
+            for (IBlockCapabilityProvider<T, Direction> provider : resolved) {
+                T instance = provider.getCapability(level, pos, state, blockEntity, side);
+                if (instance != null) return instance;
+            }
+            return null;
+        };
+    }
+    
+    /**
+     * The immutable lookup tables published when the registry is frozen.
+     */
+    private record FrozenRegistry(ElderCapability<?>[] byIndex, Map<String, ElderCapability<?>> byId) {
+    }
+    
+    /**
+     * A provider declared for a block before capabilities are registered.
+     */
+    private record BlockAttachment<T>(Supplier<? extends Block> block, IBlockCapabilityProvider<T, Direction> provider) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.eldritchvoid.core.capability;
+
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.neoforge.capabilities.BlockCapability;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Caches the capabilities of the six neighbors of a block entity.
+ * Each side is backed by a NeoForge {@link BlockCapabilityCache}, which keeps the resolved
+ * capability until the neighbor is replaced, removed or invalidates its capabilities. Machines
+ * that probe their neighbors every tick should keep one of these per capability instead of
+ * calling {@link ElderCapability#getFrom(BlockEntity, Direction)} each time.
+ * On the client, where NeoForge does not track invalidation, lookups are not cached.
+ *
+ * @param <T> The capability type
+ */
+public class ElderCapabilityCache<T> {
+    private static final int SIDES = Direction.values().length;
+    
+    private final BlockCapability<T, Direction> capability;
+    private final BlockEntity owner;
+    private final Runnable invalidationListener;
+    private final BlockCapabilityCache<T, Direction>[] caches;
+    
+    /**
+     * Create a new neighbor cache.
+     *
+     * @param capability The capability to look up
+     * @param owner The block entity whose neighbors are looked up
+     * @param invalidationListener Called whenever a cached side is invalidated, or null
+     */
+    @SuppressWarnings("unchecked")
+    ElderCapabilityCache(BlockCapability<T, Direction> capability, BlockEntity owner, Runnable invalidationListener) {
+        this.capability = capability;
+        this.owner = owner;
+        this.invalidationListener = invalidationListener != null ? invalidationListener : () -> {};
+        this.caches = new BlockCapabilityCache[SIDES];
+    }
+    
+    /**
+     * Get the capability of the neighbor on a side.
+     * The neighbor is queried from the side facing the owner.
+     *
+     * @param side The side of the owner the neighbor is on
+     * @return The capability instance, or null if the neighbor has none
+     */
+    public T get(Direction side) {
+        BlockCapabilityCache<T, Direction> cache = caches[side.ordinal()];
+        if (cache != null) {
+            return cache.getCapability();
+        }
+        
+        Level level = owner.getLevel();
+        if (level == null) return null;
+        
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return level.getCapability(capability, owner.getBlockPos().relative(side), side.getOpposite());
+        }
+        
+        cache = BlockCapabilityCache.create(capability, serverLevel, owner.getBlockPos().relative(side), side.getOpposite(),
+                () -> !owner.isRemoved(), invalidationListener);
+        caches[side.ordinal()] = cache;
+        return cache.getCapability();
+    }
+    
+    /**
+     * Get the capability of the neighbor on a side, if present.
+     *
+     * @param side The side of the owner the neighbor is on
+     * @return The capability instance, if present
+     */
+    public Optional<T> find(Direction side) {
+        return Optional.ofNullable(get(side));
+    }
+    
+    /**
+     * Run an action with the capability of the neighbor on a side if it has one.
+     *
+     * @param side The side of the owner the neighbor is on
+     * @param action The action to run with the capability instance
+     * @return True if the capability was present
+     */
+    public boolean ifPresent(Direction side, Consumer<? super T> action) {
+        T instance = get(side);
+        if (instance == null) return false;
+        action.accept(instance);
+        return true;
+    }
+    
+    /**
+     * Drop all cached sides, e.g. when the owner is moved to another level.
+     */
+    public void clear() {
+        for (int i = 0; i < SIDES; i++) {
+            caches[i] = null;
+        }
+    }
+    
+    /**
+     * Get the capability this cache looks up.
+     *
+     * @return The block capability
+     */
+    public BlockCapability<T, Direction> getCapability() {
+        return capability;
+    }
+}
\ No newline at end of file
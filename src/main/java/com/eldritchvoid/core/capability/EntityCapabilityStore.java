@@ -0,0 +1,237 @@
+package com.eldritchvoid.core.capability;
+
+import com.eldritchvoid.EldritchVoid;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Holds per-entity capability instances in a primitive map keyed by entity ID.
+ * Each level has one open-addressing int map, so an entry costs an int key and a reference in
+ * two flat arrays instead of a map entry object per entity. Instances are created on first
+ * lookup and dropped when the entity leaves its level, whether it was killed, discarded or unloaded
+ * with its chunk. Only an entity that changes dimension keeps its instance: it arrives in the new
+ * level with a new entity ID, so the instance is set aside under its UUID and handed over as soon
+ * as the entity joins the new level. Instances are kept in memory only and are not saved with the
+ * world.
+ *
+ * @param <T> The capability type
+ */
+public class EntityCapabilityStore<T> {
+    private static final List<EntityCapabilityStore<?>> STORES = new CopyOnWriteArrayList<>();
+    
+    private final String id;
+    private final Supplier<T> factory;
+    private final Map<Level, Int2ObjectOpenHashMap<T>> byLevel = new WeakHashMap<>();
+    private final Map<UUID, Detached<T>> detached = new HashMap<>();
+    
+    // The level looked up last; entity lookups come in long runs from the same level
+    private Level lastLevel;
+    private Int2ObjectOpenHashMap<T> lastInstances;
+    
+    /**
+     * Initialize entity store cleanup. This should be called during mod initialization.
+     */
+    public static void init() {
+        // Event classes are passed explicitly since this class is generic
+        NeoForge.EVENT_BUS.addListener(EntityLeaveLevelEvent.class, EntityCapabilityStore::onEntityLeaveLevel);
+        NeoForge.EVENT_BUS.addListener(EntityJoinLevelEvent.class, EntityCapabilityStore::onEntityJoinLevel);
+        NeoForge.EVENT_BUS.addListener(LevelEvent.Unload.class, EntityCapabilityStore::onLevelUnload);
+        EldritchVoid.LOGGER.info("Entity capability stores initialized");
+    }
+    
+    /**
+     * Set aside the instances of an entity that changes dimension and drop those of any other
+     * entity that leaves its level.
+     *
+     * @param event The entity leave level event
+     */
+    private static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        Entity entity = event.getEntity();
+        boolean changingDimension = entity.getRemovalReason() == Entity.RemovalReason.CHANGED_DIMENSION;
+        for (EntityCapabilityStore<?> store : STORES) {
+            if (changingDimension) {
+                store.detach(event.getLevel(), entity);
+            } else {
+                store.remove(event.getLevel(), entity.getId());
+            }
+        }
+    }
+    
+    /**
+     * Hand the instances set aside for an entity back to it when it arrives in its new level.
+     *
+     * @param event The entity join level event
+     */
+    private static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        for (EntityCapabilityStore<?> store : STORES) {
+            store.reattach(event.getLevel(), event.getEntity());
+        }
+    }
+    
+    /**
+     * Drop all instances of a level when it unloads.
+     *
+     * @param event The level unload event
+     */
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (!(event.getLevel() instanceof Level level)) return;
+        for (EntityCapabilityStore<?> store : STORES) {
+            store.clear(level);
+        }
+    }
+    
+    /**
+     * Create a new store. Stores are cleaned up automatically once created.
+     *
+     * @param id The ID of the capability the store belongs to
+     * @param factory Creates the instance for an entity on first lookup
+     */
+    public EntityCapabilityStore(String id, Supplier<T> factory) {
+        this.id = id;
+        this.factory = factory;
+        STORES.add(this);
+    }
+    
+    /**
+     * Get the instance for an entity, creating it if needed.
+     * Removed entities, for example in death handlers that run after the entity left its level,
+     * get no new instance, since nothing would ever drop it again.
+     *
+     * @param entity The entity
+     * @return The instance for the entity, or null if the entity is removed and has none
+     */
+    public synchronized T getOrCreate(Entity entity) {
+        Int2ObjectOpenHashMap<T> instances = instancesFor(entity.level(), true);
+        T instance = instances.get(entity.getId());
+        if (instance == null && !entity.isRemoved()) {
+            Detached<T> previous = detached.isEmpty() ? null : detached.remove(entity.getUUID());
+            instance = previous != null ? previous.instance() : factory.get();
+            instances.put(entity.getId(), instance);
+        }
+        return instance;
+    }
+    
+    /**
+     * Get the instance for an entity without creating it.
+     *
+     * @param entity The entity
+     * @return The instance for the entity, or null if it has none yet
+     */
+    public synchronized T get(Entity entity) {
+        Int2ObjectOpenHashMap<T> instances = instancesFor(entity.level(), false);
+        return instances != null ? instances.get(entity.getId()) : null;
+    }
+    
+    /**
+     * Drop the instance of an entity.
+     *
+     * @param level The level the entity is in
+     * @param entityId The entity ID
+     */
+    public synchronized void remove(Level level, int entityId) {
+        Int2ObjectOpenHashMap<T> instances = instancesFor(level, false);
+        if (instances != null) {
+            instances.remove(entityId);
+        }
+    }
+    
+    /**
+     * Set aside the instance of an entity that is changing dimension, so the entity gets it back
+     * when it joins its new level, under its new ID.
+     *
+     * @param level The level the entity left
+     * @param entity The entity
+     */
+    public synchronized void detach(Level level, Entity entity) {
+        Int2ObjectOpenHashMap<T> instances = instancesFor(level, false);
+        if (instances == null) return;
+        
+        T instance = instances.remove(entity.getId());
+        if (instance != null) {
+            detached.put(entity.getUUID(), new Detached<>(level, instance));
+        }
+    }
+    
+    /**
+     * Give an entity that joined a level the instance set aside for it, if there is one.
+     *
+     * @param level The level the entity joined
+     * @param entity The entity
+     */
+    public synchronized void reattach(Level level, Entity entity) {
+        if (detached.isEmpty()) return;
+        
+        Detached<T> previous = detached.remove(entity.getUUID());
+        if (previous != null) {
+            instancesFor(level, true).put(entity.getId(), previous.instance());
+        }
+    }
+    
+    /**
+     * Drop all instances of a level, including those set aside by entities that left it.
+     *
+     * @param level The level
+     */
+    public synchronized void clear(Level level) {
+        byLevel.remove(level);
+        detached.values().removeIf(entry -> entry.level() == level);
+        if (lastLevel == level) {
+            lastLevel = null;
+            lastInstances = null;
+        }
+    }
+    
+    /**
+     * Get the number of entities with an instance in a level.
+     *
+     * @param level The level
+     * @return The instance count
+     */
+    public synchronized int size(Level level) {
+        Int2ObjectOpenHashMap<T> instances = instancesFor(level, false);
+        return instances != null ? instances.size() : 0;
+    }
+    
+    /**
+     * Get the ID of the capability this store belongs to.
+     *
+     * @return The capability ID
+     */
+    public String getId() {
+        return id;
+    }
+    
+    private Int2ObjectOpenHashMap<T> instancesFor(Level level, boolean create) {
+        if (level == lastLevel && lastInstances != null) return lastInstances;
+        
+        Int2ObjectOpenHashMap<T> instances = byLevel.get(level);
+        if (instances == null) {
+            if (!create) return null;
+            instances = new Int2ObjectOpenHashMap<>();
+            byLevel.put(level, instances);
+        }
+        
+        lastLevel = level;
+        lastInstances = instances;
+        return instances;
+    }
+    
+    /**
+     * An instance set aside for an entity that left a level.
+     */
+    private record Detached<T>(Level level, T instance) {
+    }
+}
\ No newline at end of file
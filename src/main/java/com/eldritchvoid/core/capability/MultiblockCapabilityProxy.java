@@ -0,0 +1,188 @@
+package com.eldritchvoid.core.capability;
+
+import com.eldritchvoid.EldritchVoid;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.IBlockCapabilityProvider;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Exposes one shared handler on every block of a formed multiblock.
+ * When a structure forms, each member position is mapped to the formation in a primitive map,
+ * so a capability lookup on any member is a single map probe that returns the master's handler.
+ * Neighbors see one aggregated storage no matter which face of the structure they touch.
+ * The proxy is attached like any other provider, e.g.
+ * {@code capability.attachTo(() -> block, capability.createMultiblockProxy())} for every member block.
+ * Forming and dissolving must happen on the level's thread. In singleplayer the client and server
+ * threads both use the proxy, so each logical side keeps its own map of levels.
+ *
+ * @param <T> The capability type
+ */
+public class MultiblockCapabilityProxy<T> implements IBlockCapabilityProvider<T, Direction> {
+    private final String id;
+    // Only touched by the server thread and the client thread respectively
+    private final Map<Level, Formations<T>> serverLevels = new WeakHashMap<>();
+    private final Map<Level, Formations<T>> clientLevels = new WeakHashMap<>();
+    
+    /**
+     * Create a new proxy.
+     *
+     * @param id The ID of the capability the proxy belongs to
+     */
+    MultiblockCapabilityProxy(String id) {
+        this.id = id;
+    }
+    
+    @Override
+    public T getCapability(Level level, BlockPos pos, BlockState state, BlockEntity blockEntity, Direction side) {
+        Formations<T> formations = formationsFor(level, false);
+        if (formations == null) return null;
+        
+        Formation<T> formation = formations.byMember.get(pos.asLong());
+        return formation != null ? formation.handler() : null;
+    }
+    
+    /**
+     * Form a multiblock, routing every member to the master's handler.
+     * A structure already formed at the same master is replaced, but only once the new structure is
+     * known to be valid; if it is not, the existing structure is left untouched.
+     *
+     * @param level The level
+     * @param master The position of the master block
+     * @param members The positions of all member blocks; the master is always included
+     * @param handler The shared handler exposed on every member
+     * @return True if the structure was formed, false if the master or a member already belongs to another structure
+     */
+    public boolean form(Level level, BlockPos master, Collection<BlockPos> members, T handler) {
+        Formations<T> formations = formationsFor(level, true);
+        long masterKey = master.asLong();
+        // Positions of the structure being replaced are free to reuse
+        Formation<T> current = formations.byMaster.get(masterKey);
+        Formation<T> owner = formations.byMember.get(masterKey);
+        if (owner != null && owner != current) {
+            EldritchVoid.LOGGER.warn("Cannot form {} multiblock at {}: the master already belongs to the structure at {}",
+                    id, master, BlockPos.of(owner.master()));
+            return false;
+        }
+        
+        long[] memberKeys = new long[members.size() + 1];
+        int count = 0;
+        memberKeys[count++] = masterKey;
+        
+        for (BlockPos member : members) {
+            long key = member.asLong();
+            if (key == masterKey) continue;
+            
+            Formation<T> other = formations.byMember.get(key);
+            if (other != null && other != current) {
+                EldritchVoid.LOGGER.warn("Cannot form {} multiblock at {}: {} already belongs to the structure at {}",
+                        id, master, member, BlockPos.of(other.master()));
+                return false;
+            }
+            memberKeys[count++] = key;
+        }
+        
+        dissolve(level, master);
+        Formation<T> formation = new Formation<>(masterKey, count == memberKeys.length ? memberKeys : Arrays.copyOf(memberKeys, count), handler);
+        formations.byMaster.put(masterKey, formation);
+        for (long key : formation.members()) {
+            formations.byMember.put(key, formation);
+        }
+        
+        invalidate(level, formation);
+        return true;
+    }
+    
+    /**
+     * Dissolve the multiblock formed at a master position.
+     *
+     * @param level The level
+     * @param master The position of the master block
+     * @return True if a structure was dissolved
+     */
+    public boolean dissolve(Level level, BlockPos master) {
+        Formations<T> formations = formationsFor(level, false);
+        if (formations == null) return false;
+        
+        Formation<T> formation = formations.byMaster.remove(master.asLong());
+        if (formation == null) return false;
+        
+        for (long key : formation.members()) {
+            formations.byMember.remove(key);
+        }
+        
+        invalidate(level, formation);
+        return true;
+    }
+    
+    /**
+     * Get the master of the structure a block belongs to.
+     *
+     * @param level The level
+     * @param pos The position of any member block
+     * @return The position of the master, or null if the block is not part of a formed structure
+     */
+    public BlockPos getMaster(Level level, BlockPos pos) {
+        Formations<T> formations = formationsFor(level, false);
+        if (formations == null) return null;
+        
+        Formation<T> formation = formations.byMember.get(pos.asLong());
+        return formation != null ? BlockPos.of(formation.master()) : null;
+    }
+    
+    /**
+     * Get the shared handler of the structure formed at a master position.
+     *
+     * @param level The level
+     * @param master The position of the master block
+     * @return The handler, or null if no structure is formed there
+     */
+    public T getHandler(Level level, BlockPos master) {
+        Formations<T> formations = formationsFor(level, false);
+        if (formations == null) return null;
+        
+        Formation<T> formation = formations.byMaster.get(master.asLong());
+        return formation != null ? formation.handler() : null;
+    }
+    
+    /**
+     * Make neighbors and capability caches re-resolve every member of a structure.
+     */
+    private static void invalidate(Level level, Formation<?> formation) {
+        for (long key : formation.members()) {
+            level.invalidateCapabilities(BlockPos.of(key));
+        }
+    }
+    
+    private Formations<T> formationsFor(Level level, boolean create) {
+        Map<Level, Formations<T>> byLevel = level.isClientSide() ? clientLevels : serverLevels;
+        Formations<T> formations = byLevel.get(level);
+        if (formations == null && create) {
+            formations = new Formations<>();
+            byLevel.put(level, formations);
+        }
+        return formations;
+    }
+    
+    /**
+     * The formed structures of one level, indexed by master and by every member.
+     */
+    private static class Formations<T> {
+        private final Long2ObjectOpenHashMap<Formation<T>> byMaster = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<Formation<T>> byMember = new Long2ObjectOpenHashMap<>();
+    }
+    
+    /**
+     * A formed structure: its master, all member positions and the shared handler.
+     */
+    private record Formation<T>(long master, long[] members, T handler) {
+    }
+}
\ No newline at end of file
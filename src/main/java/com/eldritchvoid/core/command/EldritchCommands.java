@@ -0,0 +1,179 @@
+package com.eldritchvoid.core.command;
+
+import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.energy.VoidEnergyTelemetry;
+import com.eldritchvoid.core.event.ModuleEventBus;
+import com.eldritchvoid.core.event.ModuleEventJournal;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Server commands for inspecting the shared Eldritch Void systems.
+ * All commands live under {@code /eldritchvoid} and require operator permissions.
+ */
+public final class EldritchCommands {
+    private static final int REPORTED_NETWORKS = 10;
+    private static final int REPORTED_LISTENERS = 10;
+    private static final DateTimeFormatter JOURNAL_NAME = DateTimeFormatter.ofPattern("'eldritchvoid-events-'yyyyMMdd-HHmmss'.evj'");
+    
+    private EldritchCommands() {
+    }
+    
+    /**
+     * Initialize the commands. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(EldritchCommands::onRegisterCommands);
+    }
+    
+    /**
+     * Register the command tree.
+     *
+     * @param event The register commands event
+     */
+    private static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal(EldritchVoid.MOD_ID)
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("energy")
+                        .then(Commands.literal("telemetry")
+                                .executes(EldritchCommands::showTelemetry)
+                                .then(Commands.literal("dump")
+                                        .executes(EldritchCommands::dumpTelemetry))))
+                .then(Commands.literal("events")
+                        .then(Commands.literal("timings")
+                                .executes(EldritchCommands::showTimings)
+                                .then(Commands.literal("on")
+                                        .executes(context -> setTiming(context, true)))
+                                .then(Commands.literal("off")
+                                        .executes(context -> setTiming(context, false)))
+                                .then(Commands.literal("reset")
+                                        .executes(EldritchCommands::resetTimings))
+                                .then(Commands.literal("budget")
+                                        .then(Commands.argument("micros", IntegerArgumentType.integer(1))
+                                                .executes(EldritchCommands::setTimingBudget))))
+                        .then(Commands.literal("queues")
+                                .executes(EldritchCommands::showQueues))
+                        .then(Commands.literal("journal")
+                                .then(Commands.literal("start")
+                                        .executes(EldritchCommands::startJournal))
+                                .then(Commands.literal("stop")
+                                        .executes(EldritchCommands::stopJournal)))));
+    }
+    
+    /**
+     * Show the void energy telemetry report in chat.
+     */
+    private static int showTelemetry(CommandContext<CommandSourceStack> context) {
+        for (String line : VoidEnergyTelemetry.report(REPORTED_NETWORKS)) {
+            context.getSource().sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
+    
+    /**
+     * Write the full void energy telemetry report to the logs directory.
+     */
+    private static int dumpTelemetry(CommandContext<CommandSourceStack> context) {
+        Path file = VoidEnergyTelemetry.dump();
+        if (file == null) {
+            context.getSource().sendFailure(Component.literal("Failed to write void energy telemetry, see the log for details"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(() -> Component.literal("Wrote void energy telemetry to " + file), true);
+        return 1;
+    }
+    
+    /**
+     * Show the module event listener timings in chat.
+     */
+    private static int showTimings(CommandContext<CommandSourceStack> context) {
+        if (!ModuleEventBus.isTimingEnabled()) {
+            context.getSource().sendSuccess(() -> Component.literal("Listener timing is off, showing the last recorded timings"), false);
+        }
+        for (String line : ModuleEventBus.getTimings().report(REPORTED_LISTENERS)) {
+            context.getSource().sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
+    
+    /**
+     * Turn module event listener timing on or off.
+     */
+    private static int setTiming(CommandContext<CommandSourceStack> context, boolean enabled) {
+        ModuleEventBus.setTimingEnabled(enabled);
+        context.getSource().sendSuccess(() -> Component.literal("Listener timing " + (enabled ? "on" : "off")), true);
+        return 1;
+    }
+    
+    /**
+     * Forget all recorded module event listener timings.
+     */
+    private static int resetTimings(CommandContext<CommandSourceStack> context) {
+        ModuleEventBus.getTimings().reset();
+        context.getSource().sendSuccess(() -> Component.literal("Listener timings reset"), true);
+        return 1;
+    }
+    
+    /**
+     * Set the time a listener call may take before it is reported as slow.
+     */
+    private static int setTimingBudget(CommandContext<CommandSourceStack> context) {
+        int micros = IntegerArgumentType.getInteger(context, "micros");
+        ModuleEventBus.getTimings().setBudgetMicros(micros);
+        context.getSource().sendSuccess(() -> Component.literal("Listener budget set to " + micros + " us"), true);
+        return 1;
+    }
+    
+    /**
+     * Start recording module events to a new journal in the logs directory.
+     */
+    private static int startJournal(CommandContext<CommandSourceStack> context) {
+        Path file = FMLPaths.GAMEDIR.get().resolve("logs").resolve(LocalDateTime.now().format(JOURNAL_NAME));
+        try {
+            ModuleEventBus.startJournal(file);
+        } catch (IOException e) {
+            EldritchVoid.LOGGER.error("Failed to start event journal {}", file, e);
+            context.getSource().sendFailure(Component.literal("Failed to start the event journal, see the log for details"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(() -> Component.literal("Recording module events to " + file), true);
+        return 1;
+    }
+    
+    /**
+     * Stop recording module events.
+     */
+    private static int stopJournal(CommandContext<CommandSourceStack> context) {
+        ModuleEventJournal journal = ModuleEventBus.stopJournal();
+        if (journal == null) {
+            context.getSource().sendFailure(Component.literal("No event journal is being recorded"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(() -> Component.literal("Recorded " + journal.getRecordCount() + " module events to " + journal.getFile()), true);
+        return 1;
+    }
+    
+    /**
+     * Show the module event queues in chat.
+     */
+    private static int showQueues(CommandContext<CommandSourceStack> context) {
+        for (String line : ModuleEventBus.getQueue().report()) {
+            context.getSource().sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
+}
\ No newline at end of file
@@ -14,6 +14,10 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
     protected boolean canReceive;
     protected boolean canExtract;
     
+    private VoidEnergyDirtySet dirtySet;
+    private Runnable transferListener;
+    boolean queuedForFlush;
+    
     /**
      * Create a new base void energy storage with the given parameters.
      *
@@ -60,7 +64,7 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
         
         if (!simulate) {
             energy -= extractAmount;
-            onEnergyChanged();
+            markChanged();
         }
         
         return extractAmount;
@@ -76,7 +80,7 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
         
         if (!simulate) {
             energy += receiveAmount;
-            onEnergyChanged();
+            markChanged();
         }
         
         return receiveAmount;
@@ -107,6 +111,15 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
         }
     }
     
+    /**
+     * Restore the amount of energy stored from saved data, without notifying.
+     *
+     * @param energy The saved amount of energy
+     */
+    void loadEnergy(long energy) {
+        this.energy = Math.max(0, Math.min(capacity, energy));
+    }
+    
     /**
      * Write energy storage data to NBT.
      *
@@ -125,7 +138,7 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
      */
     public void setEnergy(long energy) {
         this.energy = Math.max(0, Math.min(capacity, energy));
-        onEnergyChanged();
+        markChanged();
     }
     
     /**
@@ -140,7 +153,7 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
             energy = capacity;
         }
         
-        onEnergyChanged();
+        markChanged();
     }
     
     /**
@@ -163,9 +176,42 @@ public class BaseVoidEnergyStorage implements VoidEnergyStorage {
         this.canExtract = maxExtract > 0;
     }
     
+    @Override
+    public void setTransferListener(Runnable listener) {
+        this.transferListener = listener;
+    }
+    
+    /**
+     * Coalesce change notifications through a per-level dirty set.
+     * While tracked, {@link #onEnergyChanged()} runs at most once per tick, at the end of the
+     * level tick, instead of after every transfer.
+     *
+     * @param dirtySet The dirty set to report changes to, or null to notify immediately
+     */
+    public void trackChangesIn(VoidEnergyDirtySet dirtySet) {
+        this.dirtySet = dirtySet;
+    }
+    
+    /**
+     * Record that the stored energy changed.
+     * Notifies immediately, or defers to the dirty set if this storage is tracked by one.
+     */
+    protected void markChanged() {
+        if (transferListener != null) {
+            transferListener.run();
+        }
+        
+        if (dirtySet != null) {
+            dirtySet.markDirty(this);
+        } else {
+            onEnergyChanged();
+        }
+    }
+    
     /**
      * Called when the energy value changes.
-     * Override this to perform additional actions when energy changes.
+     * Override this to perform additional actions when energy changes, such as marking the
+     * owning block entity for save or queueing a client sync.
      */
     protected void onEnergyChanged() {
         // Override this to handle energy changes
@@ -0,0 +1,216 @@
+package com.eldritchvoid.core.energy;
+
+import net.minecraft.nbt.CompoundTag;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Thread-safe implementation of the VoidEnergyStorage interface.
+ * Mirrors the clamping rules of {@link BaseVoidEnergyStorage}, but keeps the stored
+ * energy in a VarHandle-backed long updated with compare-and-set, so pipes, wireless
+ * links and async machines can credit and debit it from worker threads without locking
+ * or hopping to the server thread.
+ */
+public class ConcurrentVoidEnergyStorage implements VoidEnergyStorage {
+    private static final VarHandle ENERGY;
+    
+    static {
+        try {
+            ENERGY = MethodHandles.lookup().findVarHandle(ConcurrentVoidEnergyStorage.class, "energy", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private volatile long energy;
+    private volatile long capacity;
+    private volatile long maxReceive;
+    private volatile long maxExtract;
+    private volatile Runnable transferListener;
+    
+    /**
+     * Create a new concurrent void energy storage with the given parameters.
+     *
+     * @param capacity The maximum capacity
+     * @param maxReceive The maximum amount that can be received per operation
+     * @param maxExtract The maximum amount that can be extracted per operation
+     * @param energy The initial amount of energy
+     */
+    public ConcurrentVoidEnergyStorage(long capacity, long maxReceive, long maxExtract, long energy) {
+        this.capacity = capacity;
+        this.maxReceive = maxReceive;
+        this.maxExtract = maxExtract;
+        this.energy = Math.max(0, Math.min(capacity, energy));
+    }
+    
+    /**
+     * Create a new concurrent void energy storage with the given capacity.
+     *
+     * @param capacity The maximum capacity
+     */
+    public ConcurrentVoidEnergyStorage(long capacity) {
+        this(capacity, capacity, capacity, 0);
+    }
+    
+    @Override
+    public long getStoredEnergy() {
+        return energy;
+    }
+    
+    @Override
+    public long getMaxCapacity() {
+        return capacity;
+    }
+    
+    @Override
+    public long extractEnergy(long amount, boolean simulate) {
+        long limit = maxExtract;
+        if (limit <= 0) {
+            return 0;
+        }
+        
+        while (true) {
+            long current = (long) ENERGY.getVolatile(this);
+            long extractAmount = Math.min(Math.min(current, amount), limit);
+            
+            if (simulate || extractAmount <= 0) {
+                return extractAmount;
+            }
+            
+            if (ENERGY.weakCompareAndSet(this, current, current - extractAmount)) {
+                notifyTransfer();
+                onEnergyChanged();
+                return extractAmount;
+            }
+        }
+    }
+    
+    @Override
+    public long receiveEnergy(long amount, boolean simulate) {
+        long limit = maxReceive;
+        if (limit <= 0) {
+            return 0;
+        }
+        
+        while (true) {
+            long current = (long) ENERGY.getVolatile(this);
+            long receiveAmount = Math.min(Math.min(capacity - current, amount), limit);
+            
+            if (simulate || receiveAmount <= 0) {
+                return receiveAmount;
+            }
+            
+            if (ENERGY.weakCompareAndSet(this, current, current + receiveAmount)) {
+                notifyTransfer();
+                onEnergyChanged();
+                return receiveAmount;
+            }
+        }
+    }
+    
+    @Override
+    public boolean canExtract() {
+        return maxExtract > 0;
+    }
+    
+    @Override
+    public boolean canReceive() {
+        return maxReceive > 0;
+    }
+    
+    @Override
+    public void setTransferListener(Runnable listener) {
+        this.transferListener = listener;
+    }
+    
+    private void notifyTransfer() {
+        Runnable listener = transferListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+    
+    /**
+     * Read energy storage data from NBT.
+     *
+     * @param nbt The NBT tag to read from
+     */
+    public void readFromNBT(CompoundTag nbt) {
+        setEnergyInternal(nbt.getLong("Energy").orElse(0L));
+    }
+    
+    /**
+     * Write energy storage data to NBT.
+     *
+     * @param nbt The NBT tag to write to
+     * @return The NBT tag with energy data
+     */
+    public CompoundTag writeToNBT(CompoundTag nbt) {
+        nbt.putLong("Energy", energy);
+        return nbt;
+    }
+    
+    /**
+     * Set the amount of energy stored.
+     *
+     * @param energy The new amount of energy
+     */
+    public void setEnergy(long energy) {
+        setEnergyInternal(energy);
+        onEnergyChanged();
+    }
+    
+    /**
+     * Set the maximum capacity.
+     * Stored energy above the new capacity is discarded.
+     *
+     * @param capacity The new capacity
+     */
+    public void setCapacity(long capacity) {
+        this.capacity = capacity;
+        
+        while (true) {
+            long current = (long) ENERGY.getVolatile(this);
+            if (current <= capacity || ENERGY.weakCompareAndSet(this, current, capacity)) {
+                break;
+            }
+        }
+        
+        onEnergyChanged();
+    }
+    
+    /**
+     * Set the maximum amount that can be received per operation.
+     *
+     * @param maxReceive The new maximum receive amount
+     */
+    public void setMaxReceive(long maxReceive) {
+        this.maxReceive = maxReceive;
+    }
+    
+    /**
+     * Set the maximum amount that can be extracted per operation.
+     *
+     * @param maxExtract The new maximum extract amount
+     */
+    public void setMaxExtract(long maxExtract) {
+        this.maxExtract = maxExtract;
+    }
+    
+    /**
+     * Clamp and store a new energy value without notifying.
+     */
+    private void setEnergyInternal(long value) {
+        ENERGY.setVolatile(this, Math.max(0, Math.min(capacity, value)));
+    }
+    
+    /**
+     * Called when the energy value changes.
+     * This may run on any thread that transfers energy, so overrides must be thread-safe
+     * and must not touch world state directly.
+     */
+    protected void onEnergyChanged() {
+        // Override this to handle energy changes
+    }
+}
\ No newline at end of file
@@ -0,0 +1,508 @@
+package com.eldritchvoid.core.energy;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Struct-of-arrays store for large numbers of void energy buffers.
+ * Energy, capacity and rate limits live in primitive {@code long[]} columns indexed by an
+ * int handle, so bulk operations such as ticking, saving or syncing run as tight loops
+ * over contiguous memory instead of chasing thousands of small storage objects.
+ * Machines access their slot through a lightweight {@link VoidEnergyStorage} view.
+ * Handles are transient and reused, so saved energy is keyed by an owner key such as the
+ * machine's packed block position. Only slots allocated with an owner key are saved; energy read
+ * for an owner that has not allocated its slot yet waits until it does.
+ */
+public class EnergyArena {
+    private static final int DEFAULT_CAPACITY = 64;
+    
+    private long[] energy;
+    private long[] capacity;
+    private long[] maxReceive;
+    private long[] maxExtract;
+    private long[] owner;
+    private Runnable[] transferListeners;
+    private final BitSet live = new BitSet();
+    private final BitSet owned = new BitSet();
+    private final Long2IntOpenHashMap handlesByOwner = new Long2IntOpenHashMap();
+    private final Long2LongOpenHashMap pendingEnergy = new Long2LongOpenHashMap();
+    
+    private int[] freeHandles = new int[16];
+    private int freeCount = 0;
+    private int highWater = 0;
+    
+    /**
+     * Create a new arena with the default initial size.
+     */
+    public EnergyArena() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Create a new arena.
+     *
+     * @param initialSize The number of slots to reserve up front
+     */
+    public EnergyArena(int initialSize) {
+        int size = Math.max(1, initialSize);
+        this.energy = new long[size];
+        this.capacity = new long[size];
+        this.maxReceive = new long[size];
+        this.maxExtract = new long[size];
+        this.owner = new long[size];
+        this.transferListeners = new Runnable[size];
+        handlesByOwner.defaultReturnValue(-1);
+    }
+    
+    /**
+     * Allocate a new slot.
+     *
+     * @param capacity The maximum capacity
+     * @param maxReceive The maximum amount that can be received per operation
+     * @param maxExtract The maximum amount that can be extracted per operation
+     * @param energy The initial amount of energy
+     * @return The handle of the new slot
+     */
+    public int allocate(long capacity, long maxReceive, long maxExtract, long energy) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (highWater == this.energy.length) {
+                grow(highWater * 2);
+            }
+            handle = highWater++;
+        }
+        
+        this.capacity[handle] = capacity;
+        this.maxReceive[handle] = maxReceive;
+        this.maxExtract[handle] = maxExtract;
+        this.energy[handle] = Math.max(0, Math.min(capacity, energy));
+        live.set(handle);
+        
+        return handle;
+    }
+    
+    /**
+     * Allocate a new slot that is saved under an owner key.
+     * If energy was read for the owner before, the slot starts with that energy instead.
+     *
+     * @param ownerKey A key that identifies the owner across saves, such as {@code BlockPos.asLong()}
+     * @param capacity The maximum capacity
+     * @param maxReceive The maximum amount that can be received per operation
+     * @param maxExtract The maximum amount that can be extracted per operation
+     * @param energy The initial amount of energy if none was saved for the owner
+     * @return The handle of the new slot
+     */
+    public int allocate(long ownerKey, long capacity, long maxReceive, long maxExtract, long energy) {
+        if (handlesByOwner.containsKey(ownerKey)) {
+            throw new IllegalArgumentException("Energy arena owner " + ownerKey + " already has slot " + handlesByOwner.get(ownerKey));
+        }
+        
+        long initial = pendingEnergy.containsKey(ownerKey) ? pendingEnergy.remove(ownerKey) : energy;
+        int handle = allocate(capacity, maxReceive, maxExtract, initial);
+        owner[handle] = ownerKey;
+        owned.set(handle);
+        handlesByOwner.put(ownerKey, handle);
+        return handle;
+    }
+    
+    /**
+     * Allocate a new slot with the given capacity.
+     *
+     * @param capacity The maximum capacity
+     * @return The handle of the new slot
+     */
+    public int allocate(long capacity) {
+        return allocate(capacity, capacity, capacity, 0);
+    }
+    
+    /**
+     * Release a slot so its handle can be reused.
+     * Views over a released handle must not be used afterwards.
+     *
+     * @param handle The handle to release
+     */
+    public void free(int handle) {
+        if (!isLive(handle)) return;
+        
+        if (owned.get(handle)) {
+            handlesByOwner.remove(owner[handle]);
+            owned.clear(handle);
+        }
+        live.clear(handle);
+        transferListeners[handle] = null;
+        energy[handle] = 0;
+        capacity[handle] = 0;
+        maxReceive[handle] = 0;
+        maxExtract[handle] = 0;
+        
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+    
+    /**
+     * Release a slot whose owner is only unloading, such as a machine in an unloaded chunk.
+     * The slot's energy is kept under its owner key, saved with the arena and handed back when the
+     * owner allocates again. Slots without an owner key are simply freed.
+     *
+     * @param handle The handle to release
+     */
+    public void unload(int handle) {
+        if (!isLive(handle)) return;
+        
+        if (owned.get(handle)) {
+            pendingEnergy.put(owner[handle], energy[handle]);
+        }
+        free(handle);
+    }
+    
+    private void grow(int newSize) {
+        energy = Arrays.copyOf(energy, newSize);
+        capacity = Arrays.copyOf(capacity, newSize);
+        maxReceive = Arrays.copyOf(maxReceive, newSize);
+        maxExtract = Arrays.copyOf(maxExtract, newSize);
+        owner = Arrays.copyOf(owner, newSize);
+        transferListeners = Arrays.copyOf(transferListeners, newSize);
+    }
+    
+    /**
+     * Check if a handle refers to an allocated slot.
+     *
+     * @param handle The handle
+     * @return True if the slot is allocated
+     */
+    public boolean isLive(int handle) {
+        return handle >= 0 && handle < highWater && live.get(handle);
+    }
+    
+    /**
+     * Get a storage view over a slot.
+     * Views hold no state of their own, but each call returns a new object; keep and reuse one
+     * view per machine when registering it with identity-keyed systems such as networks.
+     *
+     * @param handle The handle
+     * @return A storage view backed by the arena columns
+     */
+    public VoidEnergyStorage view(int handle) {
+        if (!isLive(handle)) {
+            throw new IllegalArgumentException("Energy arena handle " + handle + " is not allocated");
+        }
+        return new Slot(this, handle);
+    }
+    
+    /**
+     * Get the handle of an owner's slot.
+     *
+     * @param ownerKey The owner key
+     * @return The handle, or -1 if the owner has no slot
+     */
+    public int getHandle(long ownerKey) {
+        return handlesByOwner.get(ownerKey);
+    }
+    
+    /**
+     * Get the amount of energy stored in a slot.
+     *
+     * @param handle The handle
+     * @return The amount of energy stored
+     */
+    public long getEnergy(int handle) {
+        return energy[handle];
+    }
+    
+    /**
+     * Get the maximum capacity of a slot.
+     *
+     * @param handle The handle
+     * @return The maximum capacity
+     */
+    public long getCapacity(int handle) {
+        return capacity[handle];
+    }
+    
+    /**
+     * Get the maximum receive amount of a slot.
+     *
+     * @param handle The handle
+     * @return The maximum receive amount
+     */
+    public long getMaxReceive(int handle) {
+        return maxReceive[handle];
+    }
+    
+    /**
+     * Get the maximum extract amount of a slot.
+     *
+     * @param handle The handle
+     * @return The maximum extract amount
+     */
+    public long getMaxExtract(int handle) {
+        return maxExtract[handle];
+    }
+    
+    /**
+     * Set the amount of energy stored in a slot.
+     *
+     * @param handle The handle
+     * @param value The new amount of energy
+     */
+    public void setEnergy(int handle, long value) {
+        energy[handle] = Math.max(0, Math.min(capacity[handle], value));
+    }
+    
+    /**
+     * Set the capacity of a slot. Stored energy above the new capacity is discarded.
+     *
+     * @param handle The handle
+     * @param value The new capacity
+     */
+    public void setCapacity(int handle, long value) {
+        capacity[handle] = value;
+        if (energy[handle] > value) {
+            energy[handle] = value;
+        }
+    }
+    
+    /**
+     * Set the maximum amount that can be received per operation by a slot.
+     *
+     * @param handle The handle
+     * @param value The new maximum
+     */
+    public void setMaxReceive(int handle, long value) {
+        maxReceive[handle] = value;
+    }
+    
+    /**
+     * Set the maximum amount that can be extracted per operation from a slot.
+     *
+     * @param handle The handle
+     * @param value The new maximum
+     */
+    public void setMaxExtract(int handle, long value) {
+        maxExtract[handle] = value;
+    }
+    
+    /**
+     * Extract energy from a slot, following the same rules as {@link BaseVoidEnergyStorage}.
+     *
+     * @param handle The handle
+     * @param amount The amount to extract
+     * @param simulate If true, the extraction is only simulated
+     * @return The amount of energy that was (or would have been) extracted
+     */
+    public long extract(int handle, long amount, boolean simulate) {
+        long limit = maxExtract[handle];
+        if (limit <= 0) return 0;
+        
+        long extracted = Math.min(Math.min(energy[handle], amount), limit);
+        if (!simulate && extracted > 0) {
+            energy[handle] -= extracted;
+            notifyTransfer(handle);
+        }
+        return extracted;
+    }
+    
+    /**
+     * Insert energy into a slot, following the same rules as {@link BaseVoidEnergyStorage}.
+     *
+     * @param handle The handle
+     * @param amount The amount to receive
+     * @param simulate If true, the receive operation is only simulated
+     * @return The amount of energy that was (or would have been) received
+     */
+    public long receive(int handle, long amount, boolean simulate) {
+        long limit = maxReceive[handle];
+        if (limit <= 0) return 0;
+        
+        long received = Math.min(Math.min(capacity[handle] - energy[handle], amount), limit);
+        if (!simulate && received > 0) {
+            energy[handle] += received;
+            notifyTransfer(handle);
+        }
+        return received;
+    }
+    
+    /**
+     * Set a listener that is called after energy is moved into or out of a slot.
+     *
+     * @param handle The handle
+     * @param listener The listener, or null to remove it
+     * @see VoidEnergyStorage#setTransferListener
+     */
+    public void setTransferListener(int handle, Runnable listener) {
+        transferListeners[handle] = listener;
+    }
+    
+    private void notifyTransfer(int handle) {
+        Runnable listener = transferListeners[handle];
+        if (listener != null) {
+            listener.run();
+        }
+    }
+    
+    /**
+     * Run an action for every allocated handle, in handle order.
+     *
+     * @param action The action to run
+     */
+    public void forEach(IntConsumer action) {
+        for (int handle = live.nextSetBit(0); handle >= 0; handle = live.nextSetBit(handle + 1)) {
+            action.accept(handle);
+        }
+    }
+    
+    /**
+     * Get the total energy stored across all slots.
+     *
+     * @return The total stored energy
+     */
+    public long getTotalStored() {
+        // Freed slots are zeroed, so the column can be summed without consulting the live set
+        long total = 0;
+        for (int i = 0; i < highWater; i++) {
+            total += energy[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Get the number of allocated slots.
+     *
+     * @return The slot count
+     */
+    public int size() {
+        return highWater - freeCount;
+    }
+    
+    /**
+     * Get the number of handles ever handed out, including freed ones.
+     * All valid handles are below this value.
+     *
+     * @return The handle high-water mark
+     */
+    public int getHandleLimit() {
+        return highWater;
+    }
+    
+    /**
+     * Write the energy of every owned slot to NBT using the compact binary codec.
+     *
+     * @param nbt The NBT tag to write to
+     * @return The NBT tag with energy data
+     */
+    public CompoundTag writeToNBT(CompoundTag nbt) {
+        return writeToNBT(nbt, VoidEnergyCodecs.BINARY);
+    }
+    
+    /**
+     * Write the energy of every owned slot to NBT, keyed by owner.
+     * Energy that was read or unloaded for owners without a slot is written too, so it survives
+     * until the owner loads again.
+     *
+     * @param nbt The NBT tag to write to
+     * @param codec The codec to encode the energy values with
+     * @return The NBT tag with energy data
+     */
+    public CompoundTag writeToNBT(CompoundTag nbt, VoidEnergyCodec codec) {
+        int count = owned.cardinality() + pendingEnergy.size();
+        long[] owners = new long[count];
+        long[] energies = new long[count];
+        
+        int i = 0;
+        for (int handle = owned.nextSetBit(0); handle >= 0; handle = owned.nextSetBit(handle + 1)) {
+            owners[i] = owner[handle];
+            energies[i++] = energy[handle];
+        }
+        for (Long2LongMap.Entry entry : pendingEnergy.long2LongEntrySet()) {
+            owners[i] = entry.getLongKey();
+            energies[i++] = entry.getLongValue();
+        }
+        
+        nbt.putLongArray("Owners", owners);
+        nbt.put("Energy", codec.encode(energies));
+        return nbt;
+    }
+    
+    /**
+     * Read energy written by {@link #writeToNBT} with any known codec.
+     * Owners that already have a slot get their energy, clamped to the slot's capacity; the rest
+     * get it when they allocate.
+     *
+     * @param nbt The NBT tag to read from
+     */
+    public void readFromNBT(CompoundTag nbt) {
+        Tag tag = nbt.get("Energy");
+        if (tag == null) return;
+        
+        long[] owners = nbt.getLongArray("Owners").orElse(new long[0]);
+        long[] energies = VoidEnergyCodecs.readAny(tag);
+        int count = Math.min(owners.length, energies.length);
+        for (int i = 0; i < count; i++) {
+            int handle = handlesByOwner.get(owners[i]);
+            if (handle >= 0) {
+                setEnergy(handle, energies[i]);
+            } else {
+                pendingEnergy.put(owners[i], energies[i]);
+            }
+        }
+    }
+    
+    /**
+     * A storage view over one arena slot.
+     */
+    private static final class Slot implements VoidEnergyStorage {
+        private final EnergyArena arena;
+        private final int handle;
+        
+        private Slot(EnergyArena arena, int handle) {
+            this.arena = arena;
+            this.handle = handle;
+        }
+        
+        @Override
+        public long getStoredEnergy() {
+            return arena.energy[handle];
+        }
+        
+        @Override
+        public long getMaxCapacity() {
+            return arena.capacity[handle];
+        }
+        
+        @Override
+        public long extractEnergy(long amount, boolean simulate) {
+            return arena.extract(handle, amount, simulate);
+        }
+        
+        @Override
+        public long receiveEnergy(long amount, boolean simulate) {
+            return arena.receive(handle, amount, simulate);
+        }
+        
+        @Override
+        public boolean canExtract() {
+            return arena.maxExtract[handle] > 0;
+        }
+        
+        @Override
+        public void setTransferListener(Runnable listener) {
+            arena.setTransferListener(handle, listener);
+        }
+        
+        @Override
+        public boolean canReceive() {
+            return arena.maxReceive[handle] > 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.eldritchvoid.core.energy;
+
+/**
+ * Wraps a void energy storage and reports its transfers to {@link VoidEnergyTelemetry}
+ * under the ID of the module that owns it.
+ * Only real transfers are recorded; simulated calls pass straight through.
+ */
+public class InstrumentedVoidEnergyStorage implements VoidEnergyStorage {
+    private final VoidEnergyStorage delegate;
+    private final VoidEnergyTelemetry.FlowStats stats;
+    
+    /**
+     * Create a new instrumented storage.
+     *
+     * @param delegate The storage to wrap
+     * @param moduleId The ID of the module that owns the storage
+     */
+    public InstrumentedVoidEnergyStorage(VoidEnergyStorage delegate, String moduleId) {
+        this.delegate = delegate;
+        this.stats = VoidEnergyTelemetry.forModule(moduleId);
+    }
+    
+    @Override
+    public long getStoredEnergy() {
+        return delegate.getStoredEnergy();
+    }
+    
+    @Override
+    public long getMaxCapacity() {
+        return delegate.getMaxCapacity();
+    }
+    
+    @Override
+    public long extractEnergy(long amount, boolean simulate) {
+        long extracted = delegate.extractEnergy(amount, simulate);
+        if (!simulate && VoidEnergyTelemetry.isEnabled()) {
+            stats.recordCall(extracted, amount > 0 && extracted == 0);
+        }
+        return extracted;
+    }
+    
+    @Override
+    public long receiveEnergy(long amount, boolean simulate) {
+        long received = delegate.receiveEnergy(amount, simulate);
+        if (!simulate && VoidEnergyTelemetry.isEnabled()) {
+            stats.recordCall(received, amount > 0 && received == 0);
+        }
+        return received;
+    }
+    
+    @Override
+    public boolean canExtract() {
+        return delegate.canExtract();
+    }
+    
+    @Override
+    public boolean canReceive() {
+        return delegate.canReceive();
+    }
+    
+    @Override
+    public void setTransferListener(Runnable listener) {
+        delegate.setTransferListener(listener);
+    }
+    
+    /**
+     * Get the wrapped storage.
+     *
+     * @return The wrapped storage
+     */
+    public VoidEnergyStorage getDelegate() {
+        return delegate;
+    }
+}
\ No newline at end of file
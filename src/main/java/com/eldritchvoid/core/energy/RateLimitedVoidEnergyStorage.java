@@ -0,0 +1,176 @@
+package com.eldritchvoid.core.energy;
+
+/**
+ * Void energy storage with per-tick transfer budgets.
+ * {@link BaseVoidEnergyStorage} enforces its limits per call, so a machine that is called many
+ * times in one tick can move many times its intended throughput. This storage also keeps a token
+ * bucket per direction that refills at the start of every tick; once a bucket is spent, further
+ * calls in the same tick are rejected with a single comparison.
+ */
+public class RateLimitedVoidEnergyStorage extends BaseVoidEnergyStorage {
+    protected long receivePerTick;
+    protected long extractPerTick;
+    
+    private long windowTick = -1;
+    private long receivedThisTick;
+    private long extractedThisTick;
+    private long rejectedThisTick;
+    private long receivedLastTick;
+    private long extractedLastTick;
+    private long rejectedLastTick;
+    
+    /**
+     * Create a new rate limited void energy storage.
+     *
+     * @param capacity The maximum capacity
+     * @param maxReceive The maximum amount that can be received per operation
+     * @param maxExtract The maximum amount that can be extracted per operation
+     * @param receivePerTick The maximum amount that can be received per tick
+     * @param extractPerTick The maximum amount that can be extracted per tick
+     * @param energy The initial amount of energy
+     */
+    public RateLimitedVoidEnergyStorage(long capacity, long maxReceive, long maxExtract, long receivePerTick, long extractPerTick, long energy) {
+        super(capacity, maxReceive, maxExtract, energy);
+        this.receivePerTick = receivePerTick;
+        this.extractPerTick = extractPerTick;
+    }
+    
+    /**
+     * Create a new rate limited void energy storage whose per-tick budgets equal its per-operation limits.
+     *
+     * @param capacity The maximum capacity
+     * @param maxReceive The maximum amount that can be received per tick
+     * @param maxExtract The maximum amount that can be extracted per tick
+     */
+    public RateLimitedVoidEnergyStorage(long capacity, long maxReceive, long maxExtract) {
+        this(capacity, maxReceive, maxExtract, maxReceive, maxExtract, 0);
+    }
+    
+    @Override
+    public long extractEnergy(long amount, boolean simulate) {
+        rollWindow();
+        
+        long budget = extractPerTick - extractedThisTick;
+        if (budget <= 0) {
+            // Simulated calls are usually followed by a real one; only count that
+            if (!simulate) {
+                rejectedThisTick++;
+            }
+            return 0;
+        }
+        
+        long extracted = super.extractEnergy(Math.min(amount, budget), simulate);
+        if (!simulate) {
+            extractedThisTick += extracted;
+        }
+        return extracted;
+    }
+    
+    @Override
+    public long receiveEnergy(long amount, boolean simulate) {
+        rollWindow();
+        
+        long budget = receivePerTick - receivedThisTick;
+        if (budget <= 0) {
+            // Simulated calls are usually followed by a real one; only count that
+            if (!simulate) {
+                rejectedThisTick++;
+            }
+            return 0;
+        }
+        
+        long received = super.receiveEnergy(Math.min(amount, budget), simulate);
+        if (!simulate) {
+            receivedThisTick += received;
+        }
+        return received;
+    }
+    
+    /**
+     * Start a new window if the server has moved on to another tick since the last transfer.
+     */
+    private void rollWindow() {
+        long now = VoidEnergyClock.currentTick();
+        if (now == windowTick) return;
+        
+        // Totals only carry over if the previous window was the tick right before this one
+        boolean consecutive = now == windowTick + 1;
+        receivedLastTick = consecutive ? receivedThisTick : 0;
+        extractedLastTick = consecutive ? extractedThisTick : 0;
+        rejectedLastTick = consecutive ? rejectedThisTick : 0;
+        
+        receivedThisTick = 0;
+        extractedThisTick = 0;
+        rejectedThisTick = 0;
+        windowTick = now;
+    }
+    
+    /**
+     * Set the maximum amount that can be received per tick.
+     *
+     * @param receivePerTick The new per-tick receive budget
+     */
+    public void setReceivePerTick(long receivePerTick) {
+        this.receivePerTick = receivePerTick;
+    }
+    
+    /**
+     * Set the maximum amount that can be extracted per tick.
+     *
+     * @param extractPerTick The new per-tick extract budget
+     */
+    public void setExtractPerTick(long extractPerTick) {
+        this.extractPerTick = extractPerTick;
+    }
+    
+    /**
+     * Get the amount of the receive budget left in the current tick.
+     *
+     * @return The remaining receive budget
+     */
+    public long getRemainingReceiveBudget() {
+        rollWindow();
+        return Math.max(0, receivePerTick - receivedThisTick);
+    }
+    
+    /**
+     * Get the amount of the extract budget left in the current tick.
+     *
+     * @return The remaining extract budget
+     */
+    public long getRemainingExtractBudget() {
+        rollWindow();
+        return Math.max(0, extractPerTick - extractedThisTick);
+    }
+    
+    /**
+     * Get the fraction of the receive budget used in the last completed tick (0.0 to 1.0).
+     *
+     * @return The receive window utilization
+     */
+    public double getReceiveUtilization() {
+        rollWindow();
+        return receivePerTick > 0 ? (double) receivedLastTick / receivePerTick : 0.0;
+    }
+    
+    /**
+     * Get the fraction of the extract budget used in the last completed tick (0.0 to 1.0).
+     *
+     * @return The extract window utilization
+     */
+    public double getExtractUtilization() {
+        rollWindow();
+        return extractPerTick > 0 ? (double) extractedLastTick / extractPerTick : 0.0;
+    }
+    
+    /**
+     * Get the number of calls rejected in the last completed tick because a budget was spent.
+     * Simulated calls are not counted.
+     *
+     * @return The rejected call count
+     */
+    public long getRejectedLastTick() {
+        rollWindow();
+        return rejectedLastTick;
+    }
+}
\ No newline at end of file
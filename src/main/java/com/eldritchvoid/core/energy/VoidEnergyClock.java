@@ -0,0 +1,43 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+/**
+ * Server tick counter shared by the void energy systems.
+ * Per-tick state such as transfer budgets compares its stored tick against {@link #currentTick()}
+ * and resets lazily on first use in a new tick, so nothing has to visit every storage at tick start.
+ */
+public final class VoidEnergyClock {
+    private static volatile long tick = 0;
+    
+    private VoidEnergyClock() {
+    }
+    
+    /**
+     * Initialize the clock. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(VoidEnergyClock::onServerTick);
+        EldritchVoid.LOGGER.info("Void energy clock initialized");
+    }
+    
+    /**
+     * Advance the clock at the start of each server tick.
+     *
+     * @param event The server tick event
+     */
+    private static void onServerTick(ServerTickEvent.Pre event) {
+        tick++;
+    }
+    
+    /**
+     * Get the current server tick.
+     *
+     * @return The number of server ticks since the clock was initialized
+     */
+    public static long currentTick() {
+        return tick;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.eldritchvoid.core.energy;
+
+import net.minecraft.nbt.Tag;
+
+/**
+ * Serializer for the stored energy of a batch of void energy storages.
+ * Codecs work on plain energy columns so the same format can back a chunk attachment,
+ * an {@link EnergyArena} or a list of storages owned by one block entity.
+ *
+ * @see VoidEnergyCodecs
+ */
+public interface VoidEnergyCodec {
+    /**
+     * Encode a batch of energy values.
+     *
+     * @param energies The energy values, in storage order
+     * @return The encoded tag
+     */
+    Tag encode(long[] energies);
+    
+    /**
+     * Decode a batch of energy values.
+     *
+     * @param tag The tag to decode
+     * @return The energy values, in storage order, or an empty array if the tag is not in this codec's format
+     */
+    long[] decode(Tag tag);
+}
\ No newline at end of file
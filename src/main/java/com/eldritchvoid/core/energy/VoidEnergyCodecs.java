@@ -0,0 +1,178 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Built-in {@link VoidEnergyCodec} implementations.
+ * {@link #NBT} writes one {@code CompoundTag} per storage in the same layout as
+ * {@link BaseVoidEnergyStorage#writeToNBT}, and is kept for compatibility.
+ * {@link #BINARY} packs all values as varints into a single byte array, which is far
+ * smaller and faster for bulk chunk attachments. {@link #readAny} accepts every format
+ * this mod has written, so saves can be migrated by simply switching the writer.
+ */
+public final class VoidEnergyCodecs {
+    private static final String ENERGY_KEY = "Energy";
+    private static final byte BINARY_FORMAT_VERSION = 1;
+    private static final long[] EMPTY = new long[0];
+    
+    /**
+     * Compatible codec: a list of compound tags with an {@code Energy} entry each.
+     */
+    public static final VoidEnergyCodec NBT = new VoidEnergyCodec() {
+        @Override
+        public Tag encode(long[] energies) {
+            ListTag list = new ListTag();
+            for (long energy : energies) {
+                CompoundTag entry = new CompoundTag();
+                entry.putLong(ENERGY_KEY, energy);
+                list.add(entry);
+            }
+            return list;
+        }
+        
+        @Override
+        public long[] decode(Tag tag) {
+            if (!(tag instanceof ListTag list)) return EMPTY;
+            
+            long[] energies = new long[list.size()];
+            for (int i = 0; i < energies.length; i++) {
+                if (list.get(i) instanceof CompoundTag entry) {
+                    energies[i] = entry.getLong(ENERGY_KEY).orElse(0L);
+                }
+            }
+            return energies;
+        }
+    };
+    
+    /**
+     * Compact codec: a version byte, the value count and each value as an unsigned LEB128 varint.
+     * Most buffers hold small or zero values, so entries typically take one to four bytes
+     * instead of a tagged compound each.
+     */
+    public static final VoidEnergyCodec BINARY = new VoidEnergyCodec() {
+        @Override
+        public Tag encode(long[] energies) {
+            // Worst case is 10 bytes per varint, plus the header
+            byte[] buffer = new byte[1 + 5 + energies.length * 10];
+            int pos = 0;
+            
+            buffer[pos++] = BINARY_FORMAT_VERSION;
+            pos = writeVarLong(buffer, pos, energies.length);
+            for (long energy : energies) {
+                pos = writeVarLong(buffer, pos, Math.max(0, energy));
+            }
+            
+            return new ByteArrayTag(Arrays.copyOf(buffer, pos));
+        }
+        
+        @Override
+        public long[] decode(Tag tag) {
+            if (!(tag instanceof ByteArrayTag bytes)) return EMPTY;
+            
+            byte[] buffer = bytes.getAsByteArray();
+            if (buffer.length == 0 || buffer[0] != BINARY_FORMAT_VERSION) {
+                EldritchVoid.LOGGER.warn("Unknown void energy binary format, discarding {} bytes", buffer.length);
+                return EMPTY;
+            }
+            
+            int[] cursor = {1};
+            long count = readVarLong(buffer, cursor);
+            if (count < 0 || count > buffer.length - cursor[0]) {
+                EldritchVoid.LOGGER.warn("Truncated void energy data: {} entries in {} bytes", count, buffer.length);
+                return EMPTY;
+            }
+            
+            long[] energies = new long[(int) count];
+            for (int i = 0; i < energies.length; i++) {
+                energies[i] = readVarLong(buffer, cursor);
+            }
+            return energies;
+        }
+    };
+    
+    private VoidEnergyCodecs() {
+    }
+    
+    /**
+     * Decode energy values written by any known codec.
+     * Accepts the binary and NBT batch formats and a single storage compound from
+     * {@link BaseVoidEnergyStorage#writeToNBT}.
+     *
+     * @param tag The tag to decode
+     * @return The energy values, in storage order
+     */
+    public static long[] readAny(Tag tag) {
+        if (tag instanceof ByteArrayTag) {
+            return BINARY.decode(tag);
+        }
+        if (tag instanceof ListTag) {
+            return NBT.decode(tag);
+        }
+        if (tag instanceof CompoundTag compound) {
+            return new long[] {compound.getLong(ENERGY_KEY).orElse(0L)};
+        }
+        return EMPTY;
+    }
+    
+    /**
+     * Encode the stored energy of a list of storages.
+     *
+     * @param codec The codec to use
+     * @param storages The storages
+     * @return The encoded tag
+     */
+    public static Tag encode(VoidEnergyCodec codec, List<? extends VoidEnergyStorage> storages) {
+        long[] energies = new long[storages.size()];
+        for (int i = 0; i < energies.length; i++) {
+            energies[i] = storages.get(i).getStoredEnergy();
+        }
+        return codec.encode(energies);
+    }
+    
+    /**
+     * Restore the stored energy of a list of storages from a tag in any known format.
+     * Like {@link BaseVoidEnergyStorage#readFromNBT}, this does not fire change notifications.
+     *
+     * @param tag The tag to read
+     * @param storages The storages to restore, in the order they were encoded
+     */
+    public static void decodeInto(Tag tag, List<? extends BaseVoidEnergyStorage> storages) {
+        long[] energies = readAny(tag);
+        int count = Math.min(energies.length, storages.size());
+        for (int i = 0; i < count; i++) {
+            storages.get(i).loadEnergy(energies[i]);
+        }
+    }
+    
+    private static int writeVarLong(byte[] buffer, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+    
+    private static long readVarLong(byte[] buffer, int[] cursor) {
+        long value = 0;
+        int shift = 0;
+        int pos = cursor[0];
+        
+        while (pos < buffer.length) {
+            byte b = buffer[pos++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+            shift += 7;
+        }
+        
+        cursor[0] = pos;
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-level set of void energy storages whose energy changed during the current tick.
+ * Storages tracked by a dirty set only mark themselves here when they transfer energy;
+ * their {@link BaseVoidEnergyStorage#onEnergyChanged()} hook runs once per storage in a
+ * single flush at the end of the level tick, so block entity saves and client sync are
+ * queued once per tick instead of once per transfer.
+ * Dirty sets are only meant to be used from the server thread.
+ */
+public class VoidEnergyDirtySet {
+    private static final Map<Level, VoidEnergyDirtySet> DIRTY_SETS = new WeakHashMap<>();
+    
+    private List<BaseVoidEnergyStorage> pending = new ArrayList<>();
+    private List<BaseVoidEnergyStorage> flushing = new ArrayList<>();
+    private final List<Consumer<BaseVoidEnergyStorage>> flushListeners = new ArrayList<>();
+    
+    /**
+     * Initialize the dirty tracking system. This should be called during mod initialization.
+     */
+    public static void init() {
+        // Lowest priority so the flush sees every transfer made during the tick, including network settling
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, VoidEnergyDirtySet::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(VoidEnergyDirtySet::onLevelUnload);
+        EldritchVoid.LOGGER.info("Void energy dirty tracking initialized");
+    }
+    
+    /**
+     * Get the dirty set for a level, creating it if needed.
+     *
+     * @param level The level
+     * @return The dirty set for the level
+     */
+    public static VoidEnergyDirtySet get(Level level) {
+        synchronized (DIRTY_SETS) {
+            return DIRTY_SETS.computeIfAbsent(level, l -> new VoidEnergyDirtySet());
+        }
+    }
+    
+    /**
+     * Flush the dirty set at the end of each server level tick.
+     *
+     * @param event The level tick event
+     */
+    private static void onLevelTick(LevelTickEvent.Post event) {
+        Level level = event.getLevel();
+        if (level.isClientSide()) return;
+        
+        VoidEnergyDirtySet dirtySet;
+        synchronized (DIRTY_SETS) {
+            dirtySet = DIRTY_SETS.get(level);
+        }
+        
+        if (dirtySet != null) {
+            dirtySet.flush();
+        }
+    }
+    
+    /**
+     * Drop the dirty set of a level when it unloads.
+     *
+     * @param event The level unload event
+     */
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        VoidEnergyDirtySet dirtySet;
+        synchronized (DIRTY_SETS) {
+            dirtySet = DIRTY_SETS.remove(event.getLevel());
+        }
+        
+        if (dirtySet != null) {
+            dirtySet.discard();
+        }
+    }
+    
+    /**
+     * Mark a storage as changed this tick.
+     * Marking an already dirty storage is a single field check.
+     *
+     * @param storage The storage that changed
+     */
+    public void markDirty(BaseVoidEnergyStorage storage) {
+        if (storage.queuedForFlush) return;
+        
+        storage.queuedForFlush = true;
+        pending.add(storage);
+    }
+    
+    /**
+     * Notify every dirty storage once and clear the set.
+     * Storages that change again while being notified are queued for the next flush.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        
+        // Swap buffers so listeners that transfer energy during the flush land in the next tick
+        List<BaseVoidEnergyStorage> batch = pending;
+        pending = flushing;
+        flushing = batch;
+        
+        for (int i = 0; i < batch.size(); i++) {
+            BaseVoidEnergyStorage storage = batch.get(i);
+            storage.queuedForFlush = false;
+            
+            try {
+                storage.onEnergyChanged();
+                for (int j = 0; j < flushListeners.size(); j++) {
+                    flushListeners.get(j).accept(storage);
+                }
+            } catch (Exception e) {
+                EldritchVoid.LOGGER.error("Error notifying void energy storage change: {}", e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        
+        batch.clear();
+    }
+    
+    /**
+     * Drop every waiting storage without notifying it.
+     * The storages are unmarked, so they can be marked again if they are tracked by another set later.
+     */
+    public void discard() {
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).queuedForFlush = false;
+        }
+        pending.clear();
+    }
+    
+    /**
+     * Add a listener that is called for every storage notified by a flush.
+     *
+     * @param listener The listener
+     */
+    public void addFlushListener(Consumer<BaseVoidEnergyStorage> listener) {
+        flushListeners.add(listener);
+    }
+    
+    /**
+     * Get the number of storages waiting for the next flush.
+     *
+     * @return The dirty storage count
+     */
+    public int size() {
+        return pending.size();
+    }
+}
\ No newline at end of file
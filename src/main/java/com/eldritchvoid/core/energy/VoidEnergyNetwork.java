@@ -0,0 +1,284 @@
+package com.eldritchvoid.core.energy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of connected void energy storages that exchange energy as one unit.
+ * Networks are built by the {@link VoidEnergyNetworkManager} whenever the connection
+ * graph changes, and settle once per tick in a single batched pass instead of every
+ * producer polling every consumer.
+ */
+public class VoidEnergyNetwork {
+    private static final byte ROLE_NONE = 0;
+    private static final byte ROLE_PRODUCER = 1;
+    private static final byte ROLE_CONSUMER = 2;
+    private static final byte ROLE_BUFFER = 3;
+    
+    private final long id;
+    private final VoidEnergyStorage[] members;
+    
+    // Scratch columns reused every tick so settling does not allocate
+    private final long[] offers;
+    private final long[] requests;
+    private final byte[] roles;
+    
+    private long lastTransferred;
+    private int lastCalls;
+    private int lastRejected;
+    
+    /**
+     * Create a new network over the given members.
+     *
+     * @param id The network ID
+     * @param members The storages in this network
+     */
+    VoidEnergyNetwork(long id, VoidEnergyStorage[] members) {
+        this.id = id;
+        this.members = members;
+        this.offers = new long[members.length];
+        this.requests = new long[members.length];
+        this.roles = new byte[members.length];
+    }
+    
+    /**
+     * Settle this network for one tick.
+     * Supply and demand are gathered from every member, then the transferable amount is
+     * split proportionally. Storages that can both receive and extract act as buffers:
+     * they absorb surplus from producers and cover deficits for consumers.
+     *
+     * @return The amount of energy moved this tick
+     */
+    public long tick() {
+        lastCalls = 0;
+        lastRejected = 0;
+        long supply = 0;
+        long demand = 0;
+        long bufferSupply = 0;
+        long bufferDemand = 0;
+        
+        for (int i = 0; i < members.length; i++) {
+            VoidEnergyStorage storage = members[i];
+            boolean out = storage.canExtract();
+            boolean in = storage.canReceive();
+            long offer = out ? storage.extractEnergy(Long.MAX_VALUE, true) : 0;
+            long request = in ? storage.receiveEnergy(Long.MAX_VALUE, true) : 0;
+            offers[i] = offer;
+            requests[i] = request;
+            
+            if (out && in) {
+                roles[i] = ROLE_BUFFER;
+                bufferSupply = saturatedAdd(bufferSupply, offer);
+                bufferDemand = saturatedAdd(bufferDemand, request);
+            } else if (out) {
+                roles[i] = ROLE_PRODUCER;
+                supply = saturatedAdd(supply, offer);
+            } else if (in) {
+                roles[i] = ROLE_CONSUMER;
+                demand = saturatedAdd(demand, request);
+            } else {
+                roles[i] = ROLE_NONE;
+            }
+        }
+        
+        long fromProducers = Math.min(supply, saturatedAdd(demand, bufferDemand));
+        long toConsumers = Math.min(demand, saturatedAdd(supply, bufferSupply));
+        
+        if (fromProducers == 0 && toConsumers == 0) {
+            lastTransferred = 0;
+            return 0;
+        }
+        
+        // Buffers are either charged by the producer surplus or drained to cover the deficit, never both
+        long bufferIn = Math.max(0, fromProducers - toConsumers);
+        long bufferOut = Math.max(0, toConsumers - fromProducers);
+        
+        long extracted = extract(ROLE_PRODUCER, fromProducers, supply)
+                + extract(ROLE_BUFFER, bufferOut, bufferSupply);
+        
+        long consumerShare = Math.min(extracted, toConsumers);
+        long received = receive(ROLE_CONSUMER, consumerShare, demand);
+        received += receive(ROLE_BUFFER, extracted - received, bufferDemand);
+        
+        if (received < extracted) {
+            // A member accepted less than it simulated; hand the rest back rather than voiding it
+            returnToSources(extracted - received);
+        }
+        
+        lastTransferred = received;
+        return received;
+    }
+    
+    /**
+     * Extract an amount from all members of a role, proportionally to their offers.
+     */
+    private long extract(byte role, long amount, long totalOffer) {
+        if (amount <= 0 || totalOffer <= 0) return 0;
+        
+        long remaining = amount;
+        long extracted = 0;
+        
+        for (int i = 0; i < members.length && remaining > 0; i++) {
+            if (roles[i] != role) continue;
+            long share = Math.min(remaining, proportionalShare(amount, offers[i], totalOffer));
+            if (share <= 0) continue;
+            long taken = members[i].extractEnergy(share, false);
+            countCall(taken);
+            offers[i] -= taken;
+            remaining -= taken;
+            extracted += taken;
+        }
+        
+        // Rounding leaves a few units behind; take them from whoever still has an offer left
+        for (int i = 0; i < members.length && remaining > 0; i++) {
+            if (roles[i] != role || offers[i] <= 0) continue;
+            long taken = members[i].extractEnergy(Math.min(remaining, offers[i]), false);
+            countCall(taken);
+            offers[i] -= taken;
+            remaining -= taken;
+            extracted += taken;
+        }
+        
+        return extracted;
+    }
+    
+    /**
+     * Insert an amount into all members of a role, proportionally to their requests.
+     */
+    private long receive(byte role, long amount, long totalRequest) {
+        if (amount <= 0 || totalRequest <= 0) return 0;
+        
+        long remaining = amount;
+        long received = 0;
+        
+        for (int i = 0; i < members.length && remaining > 0; i++) {
+            if (roles[i] != role) continue;
+            long share = Math.min(remaining, proportionalShare(amount, requests[i], totalRequest));
+            if (share <= 0) continue;
+            long accepted = members[i].receiveEnergy(share, false);
+            countCall(accepted);
+            requests[i] -= accepted;
+            remaining -= accepted;
+            received += accepted;
+        }
+        
+        for (int i = 0; i < members.length && remaining > 0; i++) {
+            if (roles[i] != role || requests[i] <= 0) continue;
+            long accepted = members[i].receiveEnergy(Math.min(remaining, requests[i]), false);
+            countCall(accepted);
+            requests[i] -= accepted;
+            remaining -= accepted;
+            received += accepted;
+        }
+        
+        return received;
+    }
+    
+    /**
+     * Give energy that no sink accepted back to any member that will take it.
+     */
+    private void returnToSources(long amount) {
+        for (int i = 0; i < members.length && amount > 0; i++) {
+            if (roles[i] == ROLE_PRODUCER || roles[i] == ROLE_BUFFER) {
+                long accepted = members[i].receiveEnergy(amount, false);
+                countCall(accepted);
+                amount -= accepted;
+            }
+        }
+    }
+    
+    /**
+     * Count a real transfer call for telemetry; calls that moved nothing count as rejected.
+     */
+    private void countCall(long moved) {
+        lastCalls++;
+        if (moved == 0) {
+            lastRejected++;
+        }
+    }
+    
+    /**
+     * Compute {@code amount * part / total} without overflowing.
+     */
+    private static long proportionalShare(long amount, long part, long total) {
+        if (part >= total) return amount;
+        if (amount <= Integer.MAX_VALUE && part <= Integer.MAX_VALUE) {
+            return amount * part / total;
+        }
+        return (long) ((double) amount * ((double) part / total));
+    }
+    
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+    
+    /**
+     * Get the network ID.
+     * IDs are unique across all levels until the game restarts.
+     *
+     * @return The network ID
+     */
+    public long getId() {
+        return id;
+    }
+    
+    /**
+     * Get the storages in this network.
+     *
+     * @return An unmodifiable view of the members
+     */
+    public List<VoidEnergyStorage> getMembers() {
+        return Collections.unmodifiableList(Arrays.asList(members));
+    }
+    
+    /**
+     * Get the number of storages in this network.
+     *
+     * @return The member count
+     */
+    public int size() {
+        return members.length;
+    }
+    
+    /**
+     * Get the total amount of energy stored across all members.
+     *
+     * @return The total stored energy
+     */
+    public long getTotalStored() {
+        long total = 0;
+        for (VoidEnergyStorage storage : members) {
+            total = saturatedAdd(total, storage.getStoredEnergy());
+        }
+        return total;
+    }
+    
+    /**
+     * Get the amount of energy moved during the last tick.
+     *
+     * @return The amount transferred
+     */
+    public long getLastTransferred() {
+        return lastTransferred;
+    }
+    
+    /**
+     * Get the number of real transfer calls made on members during the last tick.
+     *
+     * @return The call count
+     */
+    public int getLastCalls() {
+        return lastCalls;
+    }
+    
+    /**
+     * Get the number of transfer calls during the last tick that moved no energy.
+     *
+     * @return The rejected call count
+     */
+    public int getLastRejected() {
+        return lastRejected;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,369 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the connection graph between void energy storages in a level and merges
+ * connected storages into {@link VoidEnergyNetwork}s.
+ * The graph is only recomputed when connections change; each tick every network
+ * settles once, so transfer cost scales with the number of networks rather than
+ * the number of producer-consumer pairs.
+ */
+public class VoidEnergyNetworkManager {
+    private static final Map<Level, VoidEnergyNetworkManager> MANAGERS = new WeakHashMap<>();
+    // Shared across levels so network IDs stay unique in telemetry
+    private static final AtomicLong NEXT_NETWORK_ID = new AtomicLong(1);
+    
+    private final Map<VoidEnergyStorage, Set<VoidEnergyStorage>> graph = new IdentityHashMap<>();
+    private final Map<VoidEnergyStorage, VoidEnergyNetwork> networkByNode = new IdentityHashMap<>();
+    private List<VoidEnergyNetwork> networks = Collections.emptyList();
+    private final Set<VoidEnergyStorage> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Consumer<VoidEnergyStorage>> topologyListeners = new ArrayList<>();
+    private boolean dirty = false;
+    
+    /**
+     * Initialize the network system. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(VoidEnergyNetworkManager::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(VoidEnergyNetworkManager::onLevelUnload);
+        EldritchVoid.LOGGER.info("Void energy network system initialized");
+    }
+    
+    /**
+     * Get the network manager for a level, creating it if needed.
+     *
+     * @param level The level
+     * @return The network manager for the level
+     */
+    public static VoidEnergyNetworkManager get(Level level) {
+        synchronized (MANAGERS) {
+            return MANAGERS.computeIfAbsent(level, l -> new VoidEnergyNetworkManager());
+        }
+    }
+    
+    /**
+     * Settle all networks at the end of each server level tick.
+     *
+     * @param event The level tick event
+     */
+    private static void onLevelTick(LevelTickEvent.Post event) {
+        Level level = event.getLevel();
+        if (level.isClientSide()) return;
+        
+        VoidEnergyNetworkManager manager;
+        synchronized (MANAGERS) {
+            manager = MANAGERS.get(level);
+        }
+        
+        if (manager != null) {
+            manager.tick();
+        }
+    }
+    
+    /**
+     * Drop the manager of a level when it unloads.
+     *
+     * @param event The level unload event
+     */
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        VoidEnergyNetworkManager manager;
+        synchronized (MANAGERS) {
+            manager = MANAGERS.remove(event.getLevel());
+        }
+        
+        if (manager != null) {
+            for (VoidEnergyNetwork network : manager.networks) {
+                VoidEnergyTelemetry.releaseNetwork(network.getId());
+            }
+        }
+    }
+    
+    /**
+     * Add a storage to the graph as an unconnected node.
+     *
+     * @param storage The storage to add
+     */
+    public void addNode(VoidEnergyStorage storage) {
+        if (graph.putIfAbsent(storage, Collections.newSetFromMap(new IdentityHashMap<>())) == null) {
+            touched.add(storage);
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Remove a storage and all of its connections from the graph.
+     *
+     * @param storage The storage to remove
+     */
+    public void removeNode(VoidEnergyStorage storage) {
+        Set<VoidEnergyStorage> neighbors = graph.remove(storage);
+        if (neighbors == null) return;
+        
+        for (VoidEnergyStorage neighbor : neighbors) {
+            Set<VoidEnergyStorage> links = graph.get(neighbor);
+            if (links != null) {
+                links.remove(storage);
+            }
+            touched.add(neighbor);
+        }
+        
+        // Kept as touched so its old network is rebuilt even if all of its neighbors are removed too
+        touched.add(storage);
+        dirty = true;
+    }
+    
+    /**
+     * Connect two storages. Both are added to the graph if they are not already part of it.
+     *
+     * @param a The first storage
+     * @param b The second storage
+     */
+    public void connect(VoidEnergyStorage a, VoidEnergyStorage b) {
+        if (a == b) return;
+        
+        addNode(a);
+        addNode(b);
+        
+        if (graph.get(a).add(b)) {
+            graph.get(b).add(a);
+            touched.add(a);
+            touched.add(b);
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Disconnect two storages. The storages stay in the graph.
+     *
+     * @param a The first storage
+     * @param b The second storage
+     */
+    public void disconnect(VoidEnergyStorage a, VoidEnergyStorage b) {
+        Set<VoidEnergyStorage> links = graph.get(a);
+        if (links != null && links.remove(b)) {
+            graph.get(b).remove(a);
+            touched.add(a);
+            touched.add(b);
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Settle every network once.
+     */
+    public void tick() {
+        if (dirty) {
+            rebuild();
+        }
+        
+        boolean telemetry = VoidEnergyTelemetry.isEnabled();
+        for (VoidEnergyNetwork network : networks) {
+            long moved = network.tick();
+            if (telemetry) {
+                VoidEnergyTelemetry.forNetwork(network.getId()).record(moved, network.getLastCalls(), network.getLastRejected());
+            }
+        }
+    }
+    
+    /**
+     * Recompute the connected components that contain storages touched since the last rebuild.
+     * Networks without touched members are kept as they are. A recomputed component takes over the ID
+     * of the old network it shares the most members with, so its telemetry carries on; only the IDs of
+     * networks that were split off, merged away or emptied are released.
+     * Single unconnected storages do not form a network since they have nothing to exchange with.
+     */
+    private void rebuild() {
+        Set<VoidEnergyNetwork> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<VoidEnergyStorage> queue = new ArrayDeque<>();
+        for (VoidEnergyStorage storage : touched) {
+            VoidEnergyNetwork network = networkByNode.get(storage);
+            if (network != null) {
+                affected.add(network);
+            }
+            if (graph.containsKey(storage)) {
+                queue.add(storage);
+            }
+        }
+        
+        Map<VoidEnergyStorage, VoidEnergyNetwork> previous = new IdentityHashMap<>();
+        List<VoidEnergyNetwork> rebuilt = new ArrayList<>(networks.size());
+        for (VoidEnergyNetwork network : networks) {
+            if (affected.contains(network)) {
+                for (VoidEnergyStorage member : network.getMembers()) {
+                    // Removed storages are still mapped to their old network until here
+                    if (networkByNode.get(member) == network) {
+                        networkByNode.remove(member);
+                    }
+                    if (graph.containsKey(member)) {
+                        previous.put(member, network);
+                        queue.add(member);
+                    }
+                }
+            } else {
+                rebuilt.add(network);
+            }
+        }
+        
+        Set<VoidEnergyNetwork> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<VoidEnergyStorage> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<VoidEnergyStorage> pending = new ArrayDeque<>();
+        List<VoidEnergyStorage> component = new ArrayList<>();
+        Map<VoidEnergyNetwork, Integer> overlap = new IdentityHashMap<>();
+        
+        for (VoidEnergyStorage start : queue) {
+            if (!visited.add(start)) continue;
+            
+            component.clear();
+            pending.add(start);
+            
+            while (!pending.isEmpty()) {
+                VoidEnergyStorage node = pending.poll();
+                component.add(node);
+                
+                for (VoidEnergyStorage neighbor : graph.get(node)) {
+                    if (visited.add(neighbor)) {
+                        pending.add(neighbor);
+                    }
+                }
+            }
+            
+            if (component.size() < 2) continue;
+            
+            VoidEnergyNetwork network = new VoidEnergyNetwork(claimId(component, previous, reused, overlap), component.toArray(new VoidEnergyStorage[0]));
+            rebuilt.add(network);
+            
+            for (VoidEnergyStorage member : component) {
+                networkByNode.put(member, network);
+            }
+        }
+        
+        for (VoidEnergyNetwork old : affected) {
+            if (!reused.contains(old)) {
+                VoidEnergyTelemetry.releaseNetwork(old.getId());
+            }
+        }
+        networks = rebuilt;
+        dirty = false;
+        notifyTopologyChanged();
+        
+        EldritchVoid.LOGGER.debug("Rebuilt void energy graph: {} nodes in {} networks, {} recomputed", graph.size(), networks.size(), affected.size());
+    }
+    
+    /**
+     * Pick the ID of a recomputed component: the ID of the unclaimed old network most of its members
+     * belonged to, or a new one if none of them was in a network.
+     */
+    private long claimId(List<VoidEnergyStorage> component, Map<VoidEnergyStorage, VoidEnergyNetwork> previous,
+                         Set<VoidEnergyNetwork> reused, Map<VoidEnergyNetwork, Integer> overlap) {
+        overlap.clear();
+        for (VoidEnergyStorage member : component) {
+            VoidEnergyNetwork old = previous.get(member);
+            if (old != null && !reused.contains(old)) {
+                overlap.merge(old, 1, Integer::sum);
+            }
+        }
+        
+        VoidEnergyNetwork best = null;
+        for (Map.Entry<VoidEnergyNetwork, Integer> entry : overlap.entrySet()) {
+            if (best == null || entry.getValue() > overlap.get(best)) {
+                best = entry.getKey();
+            }
+        }
+        
+        if (best == null) {
+            return NEXT_NETWORK_ID.getAndIncrement();
+        }
+        reused.add(best);
+        return best.getId();
+    }
+    
+    /**
+     * Notify topology listeners about every storage whose network may have changed.
+     * This covers the storages touched since the last rebuild and all members of the networks they are now in.
+     */
+    private void notifyTopologyChanged() {
+        if (topologyListeners.isEmpty()) {
+            touched.clear();
+            return;
+        }
+        
+        Set<VoidEnergyNetwork> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<VoidEnergyStorage> changed = new ArrayList<>();
+        
+        for (VoidEnergyStorage storage : touched) {
+            VoidEnergyNetwork network = networkByNode.get(storage);
+            if (network == null) {
+                changed.add(storage);
+            } else if (affected.add(network)) {
+                changed.addAll(network.getMembers());
+            }
+        }
+        touched.clear();
+        
+        for (VoidEnergyStorage storage : changed) {
+            for (Consumer<VoidEnergyStorage> listener : topologyListeners) {
+                listener.accept(storage);
+            }
+        }
+    }
+    
+    /**
+     * Add a listener that is called for every storage whose network changed after a rebuild.
+     *
+     * @param listener The listener
+     */
+    public void addTopologyListener(Consumer<VoidEnergyStorage> listener) {
+        topologyListeners.add(listener);
+    }
+    
+    /**
+     * Get the network a storage belongs to.
+     *
+     * @param storage The storage
+     * @return The network, or null if the storage is not connected to anything
+     */
+    public VoidEnergyNetwork getNetwork(VoidEnergyStorage storage) {
+        if (dirty) {
+            rebuild();
+        }
+        return networkByNode.get(storage);
+    }
+    
+    /**
+     * Get all networks in this level.
+     *
+     * @return An unmodifiable list of networks
+     */
+    public List<VoidEnergyNetwork> getNetworks() {
+        if (dirty) {
+            rebuild();
+        }
+        return Collections.unmodifiableList(networks);
+    }
+    
+    /**
+     * Get the number of storages in the graph.
+     *
+     * @return The node count
+     */
+    public int getNodeCount() {
+        return graph.size();
+    }
+}
\ No newline at end of file
@@ -56,6 +56,17 @@ public interface VoidEnergyStorage {
         return true;
     }
     
+    /**
+     * Set a listener that is called after energy is actually moved into or out of this storage.
+     * {@link VoidEnergyTickScheduler} uses it to wake parked storages. The listener may be called on
+     * any thread that transfers energy. Storages that wrap another storage pass it on; the default
+     * implementation ignores it, so such storages are only woken by neighbor and topology changes.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    default void setTransferListener(Runnable listener) {
+    }
+    
     /**
      * Get the percentage of void energy stored (0.0 to 1.0).
      *
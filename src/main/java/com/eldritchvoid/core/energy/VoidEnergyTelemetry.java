@@ -0,0 +1,309 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.util.Log2Histogram;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where void energy goes.
+ * Networks and {@link InstrumentedVoidEnergyStorage}s report every transfer into striped counters,
+ * so recording never contends between threads. Once per server tick the energy moved in that tick
+ * is added to a log2 histogram of per-tick throughput; the histogram rolls over every
+ * {@link #WINDOW_TICKS} ticks and reports cover the current and the previous window.
+ * Reports are available through the {@code /eldritchvoid energy telemetry} command and are
+ * periodically written to the logs directory.
+ */
+public final class VoidEnergyTelemetry {
+    /**
+     * The length of one histogram window in ticks.
+     */
+    public static final int WINDOW_TICKS = 1200;
+    
+    private static final int DUMP_INTERVAL_TICKS = 6000;
+    private static final String DUMP_FILE = "eldritchvoid-energy.txt";
+    
+    private static final Map<Long, FlowStats> NETWORKS = new ConcurrentHashMap<>();
+    private static final Map<String, FlowStats> MODULES = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+    private static long ticks = 0;
+    
+    private VoidEnergyTelemetry() {
+    }
+    
+    /**
+     * Initialize telemetry. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(VoidEnergyTelemetry::onServerTick);
+        EldritchVoid.LOGGER.info("Void energy telemetry initialized");
+    }
+    
+    /**
+     * Close the current tick of every tracked flow and write a report when one is due.
+     *
+     * @param event The server tick event
+     */
+    private static void onServerTick(ServerTickEvent.Post event) {
+        if (!enabled) return;
+        
+        ticks++;
+        boolean roll = ticks % WINDOW_TICKS == 0;
+        for (FlowStats stats : NETWORKS.values()) {
+            stats.endTick(roll);
+        }
+        for (FlowStats stats : MODULES.values()) {
+            stats.endTick(roll);
+        }
+        
+        if (ticks % DUMP_INTERVAL_TICKS == 0) {
+            dump();
+        }
+    }
+    
+    /**
+     * Check whether telemetry is being recorded.
+     *
+     * @return True if transfers are recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Turn recording on or off. Counters keep their values while recording is off.
+     *
+     * @param enabled Whether transfers should be recorded
+     */
+    public static void setEnabled(boolean enabled) {
+        VoidEnergyTelemetry.enabled = enabled;
+    }
+    
+    /**
+     * Get the stats of a network, creating them if needed.
+     *
+     * @param networkId The network ID
+     * @return The stats of the network
+     */
+    public static FlowStats forNetwork(long networkId) {
+        return NETWORKS.computeIfAbsent(networkId, id -> new FlowStats("network#" + id));
+    }
+    
+    /**
+     * Get the stats of a module, creating them if needed.
+     *
+     * @param moduleId The module ID
+     * @return The stats of the module
+     */
+    public static FlowStats forModule(String moduleId) {
+        return MODULES.computeIfAbsent(moduleId, FlowStats::new);
+    }
+    
+    /**
+     * Stop tracking a network that no longer exists.
+     *
+     * @param networkId The network ID
+     */
+    public static void releaseNetwork(long networkId) {
+        NETWORKS.remove(networkId);
+    }
+    
+    /**
+     * Get the stats of every tracked network.
+     *
+     * @return The network stats
+     */
+    public static Collection<FlowStats> getNetworkStats() {
+        return Collections.unmodifiableCollection(NETWORKS.values());
+    }
+    
+    /**
+     * Get the stats of every tracked module.
+     *
+     * @return The module stats
+     */
+    public static Collection<FlowStats> getModuleStats() {
+        return Collections.unmodifiableCollection(MODULES.values());
+    }
+    
+    /**
+     * Build a human-readable report of the busiest networks and all modules.
+     *
+     * @param maxNetworks The maximum number of networks to list
+     * @return The report lines
+     */
+    public static List<String> report(int maxNetworks) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Void energy telemetry, histograms cover the last %d-%d ticks", WINDOW_TICKS, WINDOW_TICKS * 2));
+        
+        List<FlowStats> networks = new ArrayList<>(NETWORKS.values());
+        networks.sort(Comparator.comparingLong(FlowStats::getJoulesMoved).reversed());
+        lines.add(String.format("Networks: %d tracked", networks.size()));
+        for (int i = 0; i < networks.size() && i < maxNetworks; i++) {
+            lines.add("  " + networks.get(i).describe());
+        }
+        
+        List<FlowStats> modules = new ArrayList<>(MODULES.values());
+        modules.sort(Comparator.comparing(FlowStats::getName));
+        lines.add(String.format("Modules: %d tracked", modules.size()));
+        for (FlowStats stats : modules) {
+            lines.add("  " + stats.describe());
+        }
+        
+        return lines;
+    }
+    
+    /**
+     * Write a full report to the logs directory.
+     *
+     * @return The file the report was written to, or null if writing failed
+     */
+    public static Path dump() {
+        Path file = FMLPaths.GAMEDIR.get().resolve("logs").resolve(DUMP_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, report(Integer.MAX_VALUE));
+            return file;
+        } catch (IOException e) {
+            EldritchVoid.LOGGER.error("Failed to write void energy telemetry: {}", e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Transfer counters and throughput histogram for one network or module.
+     */
+    public static final class FlowStats {
+        private final String name;
+        private final LongAdder joules = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder joulesThisTick = new LongAdder();
+        private final Log2Histogram window = new Log2Histogram();
+        private final long[] previousWindow = new long[Log2Histogram.BUCKETS];
+        
+        FlowStats(String name) {
+            this.name = name;
+        }
+        
+        /**
+         * Record a single transfer call.
+         *
+         * @param moved The amount of energy moved
+         * @param wasRejected Whether the call asked for energy but moved none
+         */
+        public void recordCall(long moved, boolean wasRejected) {
+            if (moved > 0) {
+                joules.add(moved);
+                joulesThisTick.add(moved);
+            }
+            calls.increment();
+            if (wasRejected) {
+                rejected.increment();
+            }
+        }
+        
+        /**
+         * Record several transfer calls at once.
+         *
+         * @param moved The total amount of energy moved
+         * @param callCount The number of transfer calls
+         * @param rejectedCount The number of calls that moved nothing
+         */
+        public void record(long moved, long callCount, long rejectedCount) {
+            if (moved > 0) {
+                joules.add(moved);
+                joulesThisTick.add(moved);
+            }
+            if (callCount > 0) {
+                calls.add(callCount);
+            }
+            if (rejectedCount > 0) {
+                rejected.add(rejectedCount);
+            }
+        }
+        
+        /**
+         * Add this tick's throughput to the histogram, rolling the window over if asked to.
+         */
+        void endTick(boolean roll) {
+            window.record(joulesThisTick.sumThenReset());
+            if (roll) {
+                window.drainTo(previousWindow);
+            }
+        }
+        
+        /**
+         * Get the name of the network or module.
+         *
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Get the total amount of energy moved.
+         *
+         * @return The energy moved
+         */
+        public long getJoulesMoved() {
+            return joules.sum();
+        }
+        
+        /**
+         * Get the total number of transfer calls.
+         *
+         * @return The call count
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+        
+        /**
+         * Get the total number of transfer calls that moved nothing.
+         *
+         * @return The rejected call count
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+        
+        /**
+         * Get the per-tick throughput histogram over the current and previous window.
+         *
+         * @return The bucket counts, see {@link Log2Histogram}
+         */
+        public long[] getThroughputBuckets() {
+            long[] buckets = previousWindow.clone();
+            window.addTo(buckets);
+            return buckets;
+        }
+        
+        /**
+         * Describe these stats in a single line.
+         *
+         * @return The description
+         */
+        public String describe() {
+            long[] buckets = getThroughputBuckets();
+            return String.format("%s: %d J moved, %d calls, %d rejected; per tick p50 <= %d J, p99 <= %d J",
+                    name, getJoulesMoved(), getCalls(), getRejected(),
+                    Log2Histogram.percentile(buckets, 0.5), Log2Histogram.percentile(buckets, 0.99));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,365 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Ticks energy-handling machines and parks the ones that have gone idle.
+ * A storage whose stored energy has not changed for {@link #IDLE_TICKS_BEFORE_SLEEP} ticks is
+ * put to sleep and its task is no longer called. Sleeping storages are woken when a neighboring
+ * block changes, when their network topology changes, or when energy is transferred into or out
+ * of them. Transfers are reported through {@link VoidEnergyStorage#setTransferListener}, so they
+ * may come from any thread; such wakes take effect at the start of the next tick.
+ */
+public class VoidEnergyTickScheduler {
+    /**
+     * Number of consecutive ticks without net flow before a storage is parked.
+     */
+    public static final int IDLE_TICKS_BEFORE_SLEEP = 20;
+    
+    private static final long NO_POS = Long.MIN_VALUE;
+    private static final Map<Level, VoidEnergyTickScheduler> SCHEDULERS = new WeakHashMap<>();
+    
+    private final Map<VoidEnergyStorage, Entry> entries = new IdentityHashMap<>();
+    private final Long2ObjectOpenHashMap<List<Entry>> entriesByPos = new Long2ObjectOpenHashMap<>();
+    private final List<Entry> awake = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Entry> transferWakes = new ConcurrentLinkedQueue<>();
+    
+    private long tickCount = 0;
+    private long totalParked = 0;
+    private long totalWoken = 0;
+    
+    /**
+     * A unit of work that runs once per tick while its storage is awake.
+     */
+    @FunctionalInterface
+    public interface EnergyTask {
+        /**
+         * Run the task for one tick.
+         */
+        void tick();
+    }
+    
+    /**
+     * Initialize the tick scheduler. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(VoidEnergyTickScheduler::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(VoidEnergyTickScheduler::onNeighborNotify);
+        NeoForge.EVENT_BUS.addListener(VoidEnergyTickScheduler::onLevelUnload);
+        EldritchVoid.LOGGER.info("Void energy tick scheduler initialized");
+    }
+    
+    /**
+     * Get the tick scheduler for a level, creating it if needed.
+     * A new scheduler subscribes to the level's network topology, so connection changes wake the
+     * storages involved.
+     *
+     * @param level The level
+     * @return The tick scheduler for the level
+     */
+    public static VoidEnergyTickScheduler get(Level level) {
+        synchronized (SCHEDULERS) {
+            VoidEnergyTickScheduler scheduler = SCHEDULERS.get(level);
+            if (scheduler == null) {
+                scheduler = new VoidEnergyTickScheduler();
+                VoidEnergyNetworkManager.get(level).addTopologyListener(scheduler::wake);
+                SCHEDULERS.put(level, scheduler);
+            }
+            return scheduler;
+        }
+    }
+    
+    private static VoidEnergyTickScheduler getIfPresent(Level level) {
+        synchronized (SCHEDULERS) {
+            return SCHEDULERS.get(level);
+        }
+    }
+    
+    /**
+     * Run awake tasks at the start of each server level tick, before networks settle.
+     *
+     * @param event The level tick event
+     */
+    private static void onLevelTick(LevelTickEvent.Pre event) {
+        Level level = event.getLevel();
+        if (level.isClientSide()) return;
+        
+        VoidEnergyTickScheduler scheduler = getIfPresent(level);
+        if (scheduler != null) {
+            scheduler.tick();
+        }
+    }
+    
+    /**
+     * Wake storages next to a block that notified its neighbors.
+     *
+     * @param event The neighbor notify event
+     */
+    private static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof Level level) || level.isClientSide()) return;
+        
+        VoidEnergyTickScheduler scheduler = getIfPresent(level);
+        if (scheduler == null) return;
+        
+        BlockPos pos = event.getPos();
+        scheduler.wakeAt(pos);
+        for (Direction side : event.getNotifiedSides()) {
+            scheduler.wakeAt(pos.relative(side));
+        }
+    }
+    
+    /**
+     * Drop the scheduler of a level when it unloads.
+     *
+     * @param event The level unload event
+     */
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        synchronized (SCHEDULERS) {
+            SCHEDULERS.remove(event.getLevel());
+        }
+    }
+    
+    /**
+     * Schedule a storage that is not tied to a block position.
+     *
+     * @param storage The storage to watch for net flow
+     * @param task The task to run each tick while awake
+     */
+    public void register(VoidEnergyStorage storage, EnergyTask task) {
+        register(storage, null, task);
+    }
+    
+    /**
+     * Schedule a storage owned by a block. The storage wakes when any neighbor of the position changes.
+     * A block may own several scheduled storages.
+     *
+     * @param storage The storage to watch for net flow
+     * @param pos The position of the owning block, or null
+     * @param task The task to run each tick while awake
+     */
+    public void register(VoidEnergyStorage storage, BlockPos pos, EnergyTask task) {
+        unregister(storage);
+        
+        Entry entry = new Entry(storage, pos == null ? NO_POS : pos.asLong(), task);
+        entries.put(storage, entry);
+        if (entry.pos != NO_POS) {
+            entriesByPos.computeIfAbsent(entry.pos, p -> new ArrayList<>(1)).add(entry);
+        }
+        
+        entry.awakeIndex = awake.size();
+        awake.add(entry);
+        storage.setTransferListener(() -> requestWake(entry));
+    }
+    
+    /**
+     * Stop scheduling a storage.
+     *
+     * @param storage The storage
+     */
+    public void unregister(VoidEnergyStorage storage) {
+        Entry entry = entries.remove(storage);
+        if (entry == null) return;
+        
+        storage.setTransferListener(null);
+        if (entry.pos != NO_POS) {
+            List<Entry> atPos = entriesByPos.get(entry.pos);
+            atPos.remove(entry);
+            if (atPos.isEmpty()) {
+                entriesByPos.remove(entry.pos);
+            }
+        }
+        if (entry.awakeIndex >= 0) {
+            removeAwake(entry);
+        }
+    }
+    
+    /**
+     * Wake a sleeping storage. Does nothing if the storage is awake or not scheduled.
+     *
+     * @param storage The storage
+     */
+    public void wake(VoidEnergyStorage storage) {
+        Entry entry = entries.get(storage);
+        if (entry != null) {
+            wake(entry);
+        }
+    }
+    
+    /**
+     * Wake the storages owned by the block at a position, if any.
+     *
+     * @param pos The block position
+     */
+    public void wakeAt(BlockPos pos) {
+        List<Entry> atPos = entriesByPos.get(pos.asLong());
+        if (atPos == null) return;
+        
+        for (int i = 0; i < atPos.size(); i++) {
+            wake(atPos.get(i));
+        }
+    }
+    
+    private void wake(Entry entry) {
+        entry.idleTicks = 0;
+        entry.lastEnergy = entry.storage.getStoredEnergy();
+        
+        if (entry.awakeIndex < 0) {
+            entry.awakeIndex = awake.size();
+            awake.add(entry);
+            entry.parked = false;
+            totalWoken++;
+        }
+    }
+    
+    /**
+     * Queue a parked entry to be woken at the start of the next tick.
+     * Called from transfer listeners, which may run on any thread.
+     */
+    private void requestWake(Entry entry) {
+        if (!entry.parked || entry.wakeQueued) return;
+        
+        entry.wakeQueued = true;
+        transferWakes.add(entry);
+    }
+    
+    /**
+     * Run one tick of every awake task and park the ones that have been idle long enough.
+     */
+    public void tick() {
+        tickCount++;
+        
+        Entry woken;
+        while ((woken = transferWakes.poll()) != null) {
+            woken.wakeQueued = false;
+            // Skip entries that were unregistered after the transfer
+            if (entries.get(woken.storage) == woken) {
+                wake(woken);
+            }
+        }
+        
+        // Iterate backwards so parking an entry only moves entries that were already visited
+        for (int i = awake.size() - 1; i >= 0; i--) {
+            if (i >= awake.size()) continue;
+            
+            // Tasks may register, wake or unregister entries; never run one twice in a tick
+            Entry entry = awake.get(i);
+            if (entry.lastTick == tickCount) continue;
+            entry.lastTick = tickCount;
+            
+            try {
+                entry.task.tick();
+            } catch (Exception e) {
+                EldritchVoid.LOGGER.error("Error ticking void energy task: {}", e.getMessage());
+                e.printStackTrace();
+            }
+            
+            long energy = entry.storage.getStoredEnergy();
+            if (energy != entry.lastEnergy) {
+                entry.lastEnergy = energy;
+                entry.idleTicks = 0;
+            } else if (++entry.idleTicks >= IDLE_TICKS_BEFORE_SLEEP && entry.awakeIndex >= 0) {
+                removeAwake(entry);
+                entry.parked = true;
+                totalParked++;
+            }
+        }
+    }
+    
+    /**
+     * Remove an entry from the awake list in constant time by swapping in the last entry.
+     */
+    private void removeAwake(Entry entry) {
+        int index = entry.awakeIndex;
+        Entry last = awake.remove(awake.size() - 1);
+        if (last != entry) {
+            awake.set(index, last);
+            last.awakeIndex = index;
+        }
+        entry.awakeIndex = -1;
+    }
+    
+    /**
+     * Check if a storage is currently sleeping.
+     *
+     * @param storage The storage
+     * @return True if the storage is scheduled and parked
+     */
+    public boolean isSleeping(VoidEnergyStorage storage) {
+        Entry entry = entries.get(storage);
+        return entry != null && entry.awakeIndex < 0;
+    }
+    
+    /**
+     * Get the number of storages that are ticked every tick.
+     *
+     * @return The awake count
+     */
+    public int getAwakeCount() {
+        return awake.size();
+    }
+    
+    /**
+     * Get the number of storages that are parked.
+     *
+     * @return The sleeping count
+     */
+    public int getSleepingCount() {
+        return entries.size() - awake.size();
+    }
+    
+    /**
+     * Get the number of times a storage has been parked since this scheduler was created.
+     *
+     * @return The total park count
+     */
+    public long getTotalParked() {
+        return totalParked;
+    }
+    
+    /**
+     * Get the number of times a sleeping storage has been woken since this scheduler was created.
+     *
+     * @return The total wake count
+     */
+    public long getTotalWoken() {
+        return totalWoken;
+    }
+    
+    /**
+     * A scheduled storage and its task.
+     */
+    private static final class Entry {
+        private final VoidEnergyStorage storage;
+        private final long pos;
+        private final EnergyTask task;
+        private long lastEnergy;
+        private long lastTick = 0;
+        private int idleTicks = 0;
+        private int awakeIndex = -1;
+        // Read by transfer listeners on other threads
+        private volatile boolean parked = false;
+        private volatile boolean wakeQueued = false;
+        
+        private Entry(VoidEnergyStorage storage, long pos, EnergyTask task) {
+            this.storage = storage;
+            this.pos = pos;
+            this.task = task;
+            this.lastEnergy = storage.getStoredEnergy();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.eldritchvoid.core.energy;
+
+import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.util.SpatialHashIndex;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Moves void energy from wireless transmitters to receivers in range, without cables.
+ * Each dimension has its own network backed by spatial hashes, so finding partners costs
+ * O(nearby nodes) instead of a scan of every transmitter. Links are cached per transmitter
+ * and only rebuilt for transmitters affected by a node being placed, removed or reconfigured.
+ */
+public class WirelessEnergyNetwork {
+    private static final Map<Level, WirelessEnergyNetwork> NETWORKS = new WeakHashMap<>();
+    private static final WirelessEnergyNode[] NO_LINKS = new WirelessEnergyNode[0];
+    
+    // 16-block cells keep queries for typical ranges down to a handful of cells
+    private static final int CELL_SIZE_LOG2 = 4;
+    
+    private final SpatialHashIndex<WirelessEnergyNode> transmitters = new SpatialHashIndex<>(CELL_SIZE_LOG2);
+    private final SpatialHashIndex<WirelessEnergyNode> receivers = new SpatialHashIndex<>(CELL_SIZE_LOG2);
+    private final Map<WirelessEnergyNode, WirelessEnergyNode[]> links = new IdentityHashMap<>();
+    private final Set<WirelessEnergyNode> placedReceivers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<WirelessEnergyNode> dirtyTransmitters = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int maxTransmitterRange = 0;
+    
+    /**
+     * Initialize the wireless energy system. This should be called during mod initialization.
+     */
+    public static void init() {
+        NeoForge.EVENT_BUS.addListener(WirelessEnergyNetwork::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(WirelessEnergyNetwork::onLevelUnload);
+        EldritchVoid.LOGGER.info("Wireless void energy system initialized");
+    }
+    
+    /**
+     * Get the wireless network for a level, creating it if needed.
+     *
+     * @param level The level
+     * @return The wireless network for the level
+     */
+    public static WirelessEnergyNetwork get(Level level) {
+        synchronized (NETWORKS) {
+            return NETWORKS.computeIfAbsent(level, l -> new WirelessEnergyNetwork());
+        }
+    }
+    
+    /**
+     * Transfer energy over all links at the end of each server level tick.
+     *
+     * @param event The level tick event
+     */
+    private static void onLevelTick(LevelTickEvent.Post event) {
+        Level level = event.getLevel();
+        if (level.isClientSide()) return;
+        
+        WirelessEnergyNetwork network;
+        synchronized (NETWORKS) {
+            network = NETWORKS.get(level);
+        }
+        
+        if (network != null) {
+            network.tick();
+        }
+    }
+    
+    /**
+     * Drop the wireless network of a level when it unloads.
+     *
+     * @param event The level unload event
+     */
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        synchronized (NETWORKS) {
+            NETWORKS.remove(event.getLevel());
+        }
+    }
+    
+    /**
+     * Add a node to the network, e.g. when its block is placed or loaded.
+     * Placing a node that is already part of the network does nothing.
+     *
+     * @param node The node
+     */
+    public void place(WirelessEnergyNode node) {
+        if (node.getRole() == WirelessEnergyNode.Role.TRANSMITTER) {
+            if (links.containsKey(node)) return;
+            
+            transmitters.insert(node.getPos(), node);
+            links.put(node, NO_LINKS);
+            dirtyTransmitters.add(node);
+            maxTransmitterRange = Math.max(maxTransmitterRange, node.getRange());
+        } else {
+            if (!placedReceivers.add(node)) return;
+            
+            receivers.insert(node.getPos(), node);
+            markTransmittersNear(node);
+        }
+    }
+    
+    /**
+     * Remove a node from the network, e.g. when its block is broken or unloaded.
+     *
+     * @param node The node
+     */
+    public void remove(WirelessEnergyNode node) {
+        if (node.getRole() == WirelessEnergyNode.Role.TRANSMITTER) {
+            if (links.remove(node) == null) return;
+            
+            transmitters.remove(node.getPos(), node);
+            dirtyTransmitters.remove(node);
+        } else if (placedReceivers.remove(node)) {
+            receivers.remove(node.getPos(), node);
+            markTransmittersNear(node);
+        }
+    }
+    
+    /**
+     * Change the range and frequency of a node that is part of this network.
+     *
+     * @param node The node
+     * @param range The new range in blocks
+     * @param frequency The new frequency
+     */
+    public void reconfigure(WirelessEnergyNode node, int range, int frequency) {
+        node.setRange(range);
+        node.setFrequency(frequency);
+        
+        if (node.getRole() == WirelessEnergyNode.Role.TRANSMITTER) {
+            if (links.containsKey(node)) {
+                dirtyTransmitters.add(node);
+                maxTransmitterRange = Math.max(maxTransmitterRange, range);
+            }
+        } else {
+            markTransmittersNear(node);
+        }
+    }
+    
+    /**
+     * Mark every transmitter that could reach a receiver for a link rebuild.
+     */
+    private void markTransmittersNear(WirelessEnergyNode receiver) {
+        transmitters.query(receiver.getPos(), maxTransmitterRange, dirtyTransmitters::add);
+    }
+    
+    /**
+     * Rebuild stale links, then push energy from every transmitter to its linked receivers.
+     */
+    public void tick() {
+        if (!dirtyTransmitters.isEmpty()) {
+            rebuildLinks();
+        }
+        
+        for (Map.Entry<WirelessEnergyNode, WirelessEnergyNode[]> entry : links.entrySet()) {
+            WirelessEnergyNode[] targets = entry.getValue();
+            if (targets.length > 0) {
+                transfer(entry.getKey().getStorage(), targets);
+            }
+        }
+    }
+    
+    private void rebuildLinks() {
+        List<WirelessEnergyNode> found = new ArrayList<>();
+        
+        for (WirelessEnergyNode transmitter : dirtyTransmitters) {
+            found.clear();
+            int frequency = transmitter.getFrequency();
+            
+            receivers.query(transmitter.getPos(), transmitter.getRange(), receiver -> {
+                if (receiver.getFrequency() == frequency && receiver.getStorage() != transmitter.getStorage()) {
+                    found.add(receiver);
+                }
+            });
+            
+            links.put(transmitter, found.isEmpty() ? NO_LINKS : found.toArray(NO_LINKS));
+        }
+        
+        EldritchVoid.LOGGER.debug("Rebuilt wireless links for {} transmitters", dirtyTransmitters.size());
+        dirtyTransmitters.clear();
+    }
+    
+    /**
+     * Split what a transmitter can send evenly across its receivers; whatever one receiver
+     * cannot take rolls over to the ones after it.
+     * Energy is extracted for real before it is handed out, since the real extraction may return
+     * less than the simulated one, e.g. for rate limited or concurrently drained storages. What the
+     * receivers then do not take is put back into the source.
+     */
+    private static void transfer(VoidEnergyStorage source, WirelessEnergyNode[] targets) {
+        long available = source.extractEnergy(Long.MAX_VALUE, true);
+        if (available <= 0) return;
+        
+        // Only take what the receivers can hold, so little has to be put back
+        long wanted = 0;
+        for (int i = 0; i < targets.length && wanted < available; i++) {
+            wanted += targets[i].getStorage().receiveEnergy(available - wanted, true);
+        }
+        if (wanted <= 0) return;
+        
+        long extracted = source.extractEnergy(Math.min(available, wanted), false);
+        if (extracted <= 0) return;
+        
+        long sent = 0;
+        for (int i = 0; i < targets.length && sent < extracted; i++) {
+            int remainingTargets = targets.length - i;
+            long share = (extracted - sent + remainingTargets - 1) / remainingTargets;
+            sent += targets[i].getStorage().receiveEnergy(share, false);
+        }
+        
+        if (sent < extracted) {
+            long returned = source.receiveEnergy(extracted - sent, false);
+            if (returned < extracted - sent) {
+                EldritchVoid.LOGGER.debug("Wireless transmitter could not take back {} void energy", extracted - sent - returned);
+            }
+        }
+    }
+    
+    /**
+     * Get the receivers currently linked to a transmitter.
+     *
+     * @param transmitter The transmitter
+     * @return The linked receivers, empty if none or if the transmitter is not part of this network
+     */
+    public List<WirelessEnergyNode> getLinks(WirelessEnergyNode transmitter) {
+        if (dirtyTransmitters.contains(transmitter)) {
+            rebuildLinks();
+        }
+        WirelessEnergyNode[] targets = links.get(transmitter);
+        return targets == null ? Collections.emptyList() : List.of(targets);
+    }
+    
+    /**
+     * Get the number of transmitters in this network.
+     *
+     * @return The transmitter count
+     */
+    public int getTransmitterCount() {
+        return transmitters.size();
+    }
+    
+    /**
+     * Get the number of receivers in this network.
+     *
+     * @return The receiver count
+     */
+    public int getReceiverCount() {
+        return receivers.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.eldritchvoid.core.energy;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * A wireless void energy transmitter or receiver.
+ * Nodes are placed into a {@link WirelessEnergyNetwork}, which links every transmitter to the
+ * receivers on the same frequency within its range. Range and frequency changes must go through
+ * {@link WirelessEnergyNetwork#reconfigure} so cached links are rebuilt.
+ */
+public class WirelessEnergyNode {
+    /**
+     * The direction energy flows through a node.
+     */
+    public enum Role {
+        TRANSMITTER,
+        RECEIVER
+    }
+    
+    private final BlockPos pos;
+    private final Role role;
+    private final VoidEnergyStorage storage;
+    private int range;
+    private int frequency;
+    
+    /**
+     * Create a new wireless node.
+     *
+     * @param pos The position of the node
+     * @param role Whether the node sends or receives energy
+     * @param storage The storage energy is moved out of or into
+     * @param range The link range in blocks; only used by transmitters
+     * @param frequency The frequency; transmitters only link to receivers on the same frequency
+     */
+    public WirelessEnergyNode(BlockPos pos, Role role, VoidEnergyStorage storage, int range, int frequency) {
+        this.pos = pos.immutable();
+        this.role = role;
+        this.storage = storage;
+        this.range = range;
+        this.frequency = frequency;
+    }
+    
+    /**
+     * Get the position of this node.
+     *
+     * @return The position
+     */
+    public BlockPos getPos() {
+        return pos;
+    }
+    
+    /**
+     * Get the role of this node.
+     *
+     * @return The role
+     */
+    public Role getRole() {
+        return role;
+    }
+    
+    /**
+     * Get the storage behind this node.
+     *
+     * @return The storage
+     */
+    public VoidEnergyStorage getStorage() {
+        return storage;
+    }
+    
+    /**
+     * Get the link range of this node.
+     *
+     * @return The range in blocks
+     */
+    public int getRange() {
+        return range;
+    }
+    
+    /**
+     * Get the frequency of this node.
+     *
+     * @return The frequency
+     */
+    public int getFrequency() {
+        return frequency;
+    }
+    
+    void setRange(int range) {
+        this.range = range;
+    }
+    
+    void setFrequency(int frequency) {
+        this.frequency = frequency;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.eldritchvoid.core.event;
+
+import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.util.Log2Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nanosecond timings of module event listeners.
+ * Every call of a listener is recorded into a log2 histogram for that listener, and every post into
+ * a histogram for the event type covering all of its listeners. A listener that takes longer than
+ * the budget is reported with a warning, at most once per {@link #WARNING_INTERVAL_SECONDS} per
+ * listener. The budget defaults to the {@code eldritchvoid.listenerBudgetMicros} system property,
+ * or 1000 microseconds.
+ */
+public final class ListenerTimings {
+    /**
+     * The minimum time between two warnings for the same listener.
+     */
+    public static final int WARNING_INTERVAL_SECONDS = 30;
+    
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(WARNING_INTERVAL_SECONDS);
+    
+    private final Map<String, Stats> byListener = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Stats> byEventType = new ConcurrentHashMap<>();
+    private volatile long budgetNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong("eldritchvoid.listenerBudgetMicros", 1000));
+    
+    /**
+     * Get the time a single listener call may take before a warning is logged.
+     *
+     * @return The budget in microseconds
+     */
+    public long getBudgetMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(budgetNanos);
+    }
+    
+    /**
+     * Set the time a single listener call may take before a warning is logged.
+     *
+     * @param budgetMicros The budget in microseconds
+     */
+    public void setBudgetMicros(long budgetMicros) {
+        if (budgetMicros <= 0) {
+            throw new IllegalArgumentException("Listener budget must be positive, got " + budgetMicros);
+        }
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+    }
+    
+    /**
+     * Record one listener call.
+     *
+     * @param listener The name of the listener
+     * @param eventClass The class of the event it handled
+     * @param nanos The time the call took
+     */
+    void recordListener(String listener, Class<?> eventClass, long nanos) {
+        Stats stats = byListener.computeIfAbsent(listener, Stats::new);
+        stats.record(nanos);
+        
+        if (nanos > budgetNanos) {
+            stats.overBudget.increment();
+            long now = System.nanoTime();
+            long last = stats.lastWarning.get();
+            if ((last == 0 || now - last >= WARNING_INTERVAL_NANOS) && stats.lastWarning.compareAndSet(last, now)) {
+                EldritchVoid.LOGGER.warn("Module event listener {} took {} us handling {} (budget {} us, over budget {} times)",
+                        listener, TimeUnit.NANOSECONDS.toMicros(nanos), eventClass.getSimpleName(), getBudgetMicros(), stats.overBudget.sum());
+            }
+        }
+    }
+    
+    /**
+     * Record the time all listeners of one post took together.
+     *
+     * @param eventClass The class of the posted event
+     * @param nanos The time the post took
+     */
+    void recordPost(Class<?> eventClass, long nanos) {
+        byEventType.computeIfAbsent(eventClass, type -> new Stats(type.getName())).record(nanos);
+    }
+    
+    /**
+     * Forget everything recorded so far.
+     */
+    public void reset() {
+        byListener.clear();
+        byEventType.clear();
+    }
+    
+    /**
+     * Build a human-readable report of the event types and the slowest listeners.
+     *
+     * @param maxListeners The maximum number of listeners to list
+     * @return The report lines
+     */
+    public List<String> report(int maxListeners) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Module event timings, listener budget %d us", getBudgetMicros()));
+        
+        List<Stats> types = new ArrayList<>(byEventType.values());
+        types.sort(Comparator.comparingLong(Stats::getTotalNanos).reversed());
+        lines.add(String.format("Event types: %d posted", types.size()));
+        for (Stats stats : types) {
+            lines.add("  " + stats.describe());
+        }
+        
+        List<Stats> listeners = new ArrayList<>(byListener.values());
+        listeners.sort(Comparator.comparingLong(Stats::getTotalNanos).reversed());
+        lines.add(String.format("Listeners: %d called", listeners.size()));
+        for (int i = 0; i < listeners.size() && i < maxListeners; i++) {
+            lines.add("  " + listeners.get(i).describe());
+        }
+        
+        return lines;
+    }
+    
+    /**
+     * Call counts and duration histogram for one listener or event type.
+     */
+    private static final class Stats {
+        private final String name;
+        private final Log2Histogram histogram = new Log2Histogram();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final AtomicLong lastWarning = new AtomicLong();
+        
+        private Stats(String name) {
+            this.name = name;
+        }
+        
+        private void record(long nanos) {
+            histogram.record(nanos);
+            totalNanos.add(nanos);
+        }
+        
+        private long getTotalNanos() {
+            return totalNanos.sum();
+        }
+        
+        private String describe() {
+            long[] buckets = new long[Log2Histogram.BUCKETS];
+            histogram.addTo(buckets);
+            String line = String.format("%s: %d calls, %d us total, p50 <= %d ns, p99 <= %d ns, max <= %d ns",
+                    name, Log2Histogram.total(buckets), TimeUnit.NANOSECONDS.toMicros(getTotalNanos()),
+                    Log2Histogram.percentile(buckets, 0.5), Log2Histogram.percentile(buckets, 0.99),
+                    Log2Histogram.percentile(buckets, 1.0));
+            long over = overBudget.sum();
+            return over > 0 ? line + ", " + over + " over budget" : line;
+        }
+    }
+}
\ No newline at end of file
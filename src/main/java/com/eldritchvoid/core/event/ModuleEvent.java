@@ -0,0 +1,31 @@
+package com.eldritchvoid.core.event;
+
+import net.neoforged.bus.api.Event;
+
+/**
+ * Base class for events exchanged between Eldritch Void modules.
+ * Module events are dispatched by the mod's own {@link ModuleEventDispatcher} instead of the
+ * global NeoForge bus, so they never compete with other mods' listeners.
+ * Some module events are pooled by {@link ModuleEventPool}; listeners must not keep references
+ * to an event after they return.
+ */
+public abstract class ModuleEvent extends Event {
+    // Set once a pooled instance was handed back; only tracked in pool debug mode
+    boolean released;
+    
+    /**
+     * Clear the contents of a pooled event before it is reused.
+     */
+    void reset() {
+    }
+    
+    /**
+     * Fail if this is a pooled event that is being used after it was handed back.
+     * Only checked in pool debug mode; otherwise this compiles away.
+     */
+    protected final void checkLive() {
+        if (ModuleEventPool.DEBUG && released) {
+            throw new IllegalStateException(getClass().getSimpleName() + " used after dispatch; listeners must not keep pooled events");
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.eldritchvoid.core.event;
 import com.eldritchvoid.EldritchVoid;
 import com.eldritchvoid.core.Module;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.core.BlockPos;
@@ -11,35 +12,320 @@ import net.neoforged.bus.api.Event;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Event bus system for module communication.
  * Allows modules to communicate with each other without direct dependencies.
+ * {@link ModuleEvent}s are dispatched by the mod's own {@link ModuleEventDispatcher}; any other
+ * event is passed through to the global NeoForge bus.
+ * Module events can also be posted asynchronously: thread-safe listeners run on a small worker
+ * pool and the others are deferred to a mailbox that is drained at the end of each server tick.
+ * Modules that opt in have their block activations and item uses merged into one batch event per
+ * block or item at the end of each tick.
+ * Listener timing can be turned on with {@link #setTimingEnabled} or by starting the game with
+ * {@code -Deldritchvoid.timeListeners=true}.
+ * Posted module events can be recorded into a {@link ModuleEventJournal} for offline replay.
+ * Event types that arrive in bursts can be put in a bounded {@link ModuleEventQueue}, which
+ * delivers a fixed number of them per tick.
  */
 public class ModuleEventBus {
-    private static final IEventBus MODULE_BUS = NeoForge.EVENT_BUS;
+    private static final IEventBus GAME_BUS = NeoForge.EVENT_BUS;
+    private static final ModuleEventDispatcher MODULE_BUS = new ModuleEventDispatcher();
+    
+    private static final ExecutorService ASYNC_WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), new WorkerThreadFactory());
+    private static final Queue<Runnable> MAIN_THREAD_MAILBOX = new ConcurrentLinkedQueue<>();
+    private static final ModuleEventCoalescer COALESCER = new ModuleEventCoalescer();
+    private static final ListenerTimings TIMINGS = new ListenerTimings();
+    private static final ModuleEventQueue QUEUE = new ModuleEventQueue();
+    private static volatile long tick = 0;
+    
+    /**
+     * Initialize the module event bus. This should be called during mod initialization.
+     */
+    public static void init() {
+        GAME_BUS.addListener(ModuleEventBus::onServerTick);
+        GAME_BUS.addListener(ModuleEventBus::onServerStopping);
+        if (Boolean.getBoolean("eldritchvoid.timeListeners")) {
+            setTimingEnabled(true);
+        }
+        EldritchVoid.LOGGER.info("Module event bus initialized");
+    }
+    
+    /**
+     * Deliver queued events, post the coalesced batches and run the listeners deferred by
+     * asynchronous posts at the end of each server tick.
+     *
+     * @param event The server tick event
+     */
+    private static void onServerTick(ServerTickEvent.Post event) {
+        QUEUE.drain(MODULE_BUS, tick);
+        COALESCER.flush(MODULE_BUS);
+        
+        // Only run what was queued before the drain started; anything posted meanwhile waits a tick
+        for (int pending = MAIN_THREAD_MAILBOX.size(); pending > 0; pending--) {
+            Runnable task = MAIN_THREAD_MAILBOX.poll();
+            if (task == null) break;
+            
+            try {
+                task.run();
+            } catch (Exception e) {
+                EldritchVoid.LOGGER.error("Error running deferred module event listeners: {}", e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        
+        tick++;
+    }
+    
+    /**
+     * Drop queued events and close the event journal when the server stops.
+     *
+     * @param event The server stopping event
+     */
+    private static void onServerStopping(ServerStoppingEvent event) {
+        QUEUE.clear();
+        stopJournal();
+    }
+    
+    /**
+     * Start recording every posted module event, replacing the current journal if there is one.
+     *
+     * @param file The file to record into
+     * @return The new journal
+     * @throws IOException If the file cannot be created
+     */
+    public static synchronized ModuleEventJournal startJournal(Path file) throws IOException {
+        stopJournal();
+        ModuleEventJournal journal = new ModuleEventJournal(file, () -> tick);
+        MODULE_BUS.setJournal(journal);
+        EldritchVoid.LOGGER.info("Recording module events to {}", file);
+        return journal;
+    }
+    
+    /**
+     * Stop recording module events and close the journal.
+     *
+     * @return The closed journal, or null if no journal was being recorded
+     */
+    public static synchronized ModuleEventJournal stopJournal() {
+        ModuleEventJournal journal = MODULE_BUS.getJournal();
+        if (journal == null) return null;
+        
+        MODULE_BUS.setJournal(null);
+        try {
+            journal.close();
+            EldritchVoid.LOGGER.info("Recorded {} module events to {}", journal.getRecordCount(), journal.getFile());
+        } catch (IOException e) {
+            EldritchVoid.LOGGER.error("Failed to close event journal {}", journal.getFile(), e);
+        }
+        return journal;
+    }
+    
+    /**
+     * Get the journal module events are being recorded into.
+     *
+     * @return The journal, or null if events are not being recorded
+     */
+    public static ModuleEventJournal getJournal() {
+        return MODULE_BUS.getJournal();
+    }
     
     /**
      * Post an event to all modules.
+     * Server-side events of a queued type are only queued; their listeners run at the end of the tick
+     * or later, or never if the queue samples out or drops the event. For those the event is returned before
+     * any listener has run, so it is neither canceled nor carries listener results yet. Use
+     * {@link #isQueued} to tell whether the returned event has been dispatched.
      *
      * @param event The event to post
      * @param <T> The event type
-     * @return The posted event
+     * @return The posted event, which has not been dispatched yet if its type is queued
      */
     public static <T extends Event> T post(T event) {
-        MODULE_BUS.post(event);
+        if (event instanceof ModuleEvent moduleEvent) {
+            if (offer(moduleEvent)) return event;
+            return MODULE_BUS.post(event);
+        }
+        GAME_BUS.post(event);
         return event;
     }
     
+    /**
+     * Post a module event without blocking the caller.
+     * Listeners marked thread-safe run on a worker thread; all others run on the server thread at
+     * the end of the current tick. The event must be a fresh instance, never a pooled one.
+     * Events of a queued type cannot be posted asynchronously, since the queue decides when and
+     * whether they are dispatched; post them with {@link #post} instead.
+     *
+     * @param event The event to post
+     * @param <T> The event type
+     * @return A future completed with the event once every listener has run
+     * @throws IllegalArgumentException If the event's type is queued
+     */
+    public static <T extends ModuleEvent> CompletableFuture<T> postAsync(T event) {
+        if (QUEUE.isQueued(event.getClass())) {
+            throw new IllegalArgumentException("Events of queued type " + event.getClass().getSimpleName() + " cannot be posted asynchronously");
+        }
+        return MODULE_BUS.postAsync(event, ASYNC_WORKERS, MAIN_THREAD_MAILBOX::add);
+    }
+    
+    /**
+     * Turn timing of module event listeners on or off.
+     * Timings recorded so far are kept while timing is off.
+     *
+     * @param enabled Whether listeners should be timed
+     */
+    public static synchronized void setTimingEnabled(boolean enabled) {
+        MODULE_BUS.setTimings(enabled ? TIMINGS : null);
+    }
+    
+    /**
+     * Check whether module event listeners are being timed.
+     *
+     * @return True if listeners are timed
+     */
+    public static boolean isTimingEnabled() {
+        return MODULE_BUS.getTimings() != null;
+    }
+    
+    /**
+     * Get the listener timings, which also hold the slow-listener budget.
+     *
+     * @return The listener timings
+     */
+    public static ListenerTimings getTimings() {
+        return TIMINGS;
+    }
+    
+    /**
+     * Queue an event type with every event in the normal tier.
+     *
+     * @param eventClass The event class; subclasses are not queued
+     * @param capacity The maximum number of waiting events
+     * @param perTickBudget The maximum number of events delivered per tick
+     * @param <E> The event type
+     */
+    public static <E extends ModuleEvent> void setQueued(Class<E> eventClass, int capacity, int perTickBudget) {
+        setQueued(eventClass, capacity, perTickBudget, event -> ModuleEventQueue.Tier.NORMAL);
+    }
+    
+    /**
+     * Queue an event type. Its events are delivered at the end of the tick, at most
+     * {@code perTickBudget} per tick and highest tier first; see {@link ModuleEventQueue} for what
+     * happens under overload. Replaces any queue the type already had, dropping its events.
+     *
+     * @param eventClass The event class; subclasses are not queued
+     * @param capacity The maximum number of waiting events
+     * @param perTickBudget The maximum number of events delivered per tick
+     * @param classifier Decides the tier of each event
+     * @param <E> The event type
+     */
+    public static <E extends ModuleEvent> void setQueued(Class<E> eventClass, int capacity, int perTickBudget, Function<? super E, ModuleEventQueue.Tier> classifier) {
+        QUEUE.setQueued(eventClass, capacity, perTickBudget, classifier);
+    }
+    
+    /**
+     * Stop queueing an event type. Events that are still waiting are delivered right away.
+     *
+     * @param eventClass The event class
+     */
+    public static void clearQueued(Class<? extends ModuleEvent> eventClass) {
+        for (ModuleEvent event : QUEUE.clearQueued(eventClass)) {
+            MODULE_BUS.deliver(event);
+        }
+    }
+    
+    /**
+     * Check whether events of a type are queued instead of being dispatched when they are posted.
+     *
+     * @param eventClass The event class
+     * @return True if the type is queued
+     */
+    public static boolean isQueued(Class<? extends ModuleEvent> eventClass) {
+        return QUEUE.isQueued(eventClass);
+    }
+    
+    /**
+     * Record an event into the journal and queue it if its type is queued and it happened on the server.
+     * Recording happens here rather than at dispatch, so the journal also holds the events the
+     * queue samples out, evicts or drops.
+     *
+     * @param event The event
+     * @return True if the event was queued, whether or not the queue admitted it
+     */
+    private static boolean offer(ModuleEvent event) {
+        if (!QUEUE.isQueued(event.getClass()) || isClientSide(event)) return false;
+        
+        MODULE_BUS.record(event);
+        if (!QUEUE.offer(event, tick)) {
+            // The type stopped being queued in the meantime
+            MODULE_BUS.deliver(event);
+        }
+        return true;
+    }
+    
+    /**
+     * Get the event queues, for reporting.
+     *
+     * @return The event queues
+     */
+    public static ModuleEventQueue getQueue() {
+        return QUEUE;
+    }
+    
+    /**
+     * Turn per-tick coalescing on or off for a module.
+     * While it is on, {@link #postBlockActivated} and {@link #postItemUsed} for the module no longer
+     * post individual server-side events. Instead, one {@link BlockActivatedBatchEvent} per block and one
+     * {@link ItemUsedBatchEvent} per item are posted at the end of the server tick. Client-side events
+     * are always posted individually.
+     *
+     * @param moduleId The module ID
+     * @param coalesced Whether the module's events are coalesced
+     */
+    public static void setCoalesced(String moduleId, boolean coalesced) {
+        COALESCER.setCoalesced(moduleId, coalesced);
+    }
+    
+    /**
+     * Check whether a module's block activations and item uses are coalesced per tick.
+     *
+     * @param moduleId The module ID
+     * @return True if the module's events are coalesced
+     */
+    public static boolean isCoalesced(String moduleId) {
+        return COALESCER.isCoalesced(moduleId);
+    }
+    
     /**
      * Register a module to listen for events.
+     * Listener methods for module events are bound on the module bus; if the object also
+     * listens to game events it is registered with the NeoForge bus as well. Listener methods
+     * declared on superclasses count for both.
      *
      * @param module The module to register
      */
     public static void register(Object module) {
-        MODULE_BUS.register(module);
+        int gameListeners = MODULE_BUS.register(module, ModuleEvent.class);
+        if (gameListeners > 0) {
+            GAME_BUS.register(module);
+        }
         EldritchVoid.LOGGER.info("Registered module event listener: {}", module.getClass().getSimpleName());
     }
     
@@ -51,7 +337,7 @@ public class ModuleEventBus {
      * @param <T> The event type
      */
     public static <T extends Event> void addListener(Class<T> eventClass, Consumer<T> consumer) {
-        MODULE_BUS.addListener(EventPriority.NORMAL, false, eventClass, consumer);
+        addListener(EventPriority.NORMAL, eventClass, consumer);
     }
     
     /**
@@ -63,13 +349,169 @@ public class ModuleEventBus {
      * @param <T> The event type
      */
     public static <T extends Event> void addListener(EventPriority priority, Class<T> eventClass, Consumer<T> consumer) {
-        MODULE_BUS.addListener(priority, false, eventClass, consumer);
+        if (ModuleEvent.class.isAssignableFrom(eventClass)) {
+            MODULE_BUS.addListener(priority, false, eventClass, consumer);
+        } else {
+            GAME_BUS.addListener(priority, false, eventClass, consumer);
+        }
+    }
+    
+    /**
+     * Add a listener that may be called off the main thread for events posted with {@link #postAsync}.
+     * The listener must not touch levels, entities or any other game state.
+     *
+     * @param eventClass The event class to listen for
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    public static <T extends ModuleEvent> void addThreadSafeListener(Class<T> eventClass, Consumer<T> consumer) {
+        MODULE_BUS.addListener(EventPriority.NORMAL, false, true, eventClass, consumer);
+    }
+    
+    /**
+     * Add a listener for the events of one module only.
+     * Events posted by other modules never reach the listener and cost it nothing.
+     *
+     * @param eventClass The event class to listen for
+     * @param moduleId The ID of the module whose events are received
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    public static <T extends ModuleEvent & ModuleScopedEvent> void addListener(Class<T> eventClass, String moduleId, Consumer<T> consumer) {
+        addListener(EventPriority.NORMAL, eventClass, moduleId, consumer);
+    }
+    
+    /**
+     * Add a listener with specific priority for the events of one module only.
+     *
+     * @param priority The event priority
+     * @param eventClass The event class to listen for
+     * @param moduleId The ID of the module whose events are received
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    public static <T extends ModuleEvent & ModuleScopedEvent> void addListener(EventPriority priority, Class<T> eventClass, String moduleId, Consumer<T> consumer) {
+        MODULE_BUS.addListener(priority, false, eventClass, moduleId, consumer);
+    }
+    
+    /**
+     * Post an {@link EntitySpawnedEvent} using a pooled instance.
+     * Nothing is allocated; listeners must not keep the event after they return.
+     * If the event type is queued and the entity is on the server, a fresh instance is queued instead.
+     *
+     * @param entity The entity that was spawned
+     * @param moduleId The ID of the module that spawned the entity
+     */
+    public static void postEntitySpawned(Entity entity, String moduleId) {
+        if (QUEUE.isQueued(EntitySpawnedEvent.class) && !entity.level().isClientSide() && offer(new EntitySpawnedEvent(entity, moduleId))) {
+            return;
+        }
+        
+        EntitySpawnedEvent event = ModuleEventPool.acquire(ModuleEventPool.ENTITY_SPAWNED, EntitySpawnedEvent::new);
+        event.fill(entity, moduleId);
+        try {
+            MODULE_BUS.post(event);
+        } finally {
+            ModuleEventPool.release(ModuleEventPool.ENTITY_SPAWNED, event);
+        }
+    }
+    
+    /**
+     * Post an {@link ItemUsedEvent} using a pooled instance.
+     * Nothing is allocated; listeners must not keep the event after they return.
+     * If the module is coalesced and the user is on the server, the use is added to the tick's
+     * {@link ItemUsedBatchEvent} instead, and if the event type is queued, a fresh instance is queued.
+     * Client-side uses are never coalesced or queued, since both are only flushed by the server tick.
+     *
+     * @param itemStack The item stack that was used
+     * @param moduleId The ID of the module that owns the item
+     * @param user The entity that used the item
+     */
+    public static void postItemUsed(ItemStack itemStack, String moduleId, Entity user) {
+        if (COALESCER.isCoalesced(moduleId) && user != null && !user.level().isClientSide()) {
+            COALESCER.itemUsed(itemStack.getItem(), moduleId, user);
+            return;
+        }
+        if (QUEUE.isQueued(ItemUsedEvent.class) && user != null && !user.level().isClientSide() && offer(new ItemUsedEvent(itemStack, moduleId, user))) {
+            return;
+        }
+        
+        ItemUsedEvent event = ModuleEventPool.acquire(ModuleEventPool.ITEM_USED, ItemUsedEvent::new);
+        event.fill(itemStack, moduleId, user);
+        try {
+            MODULE_BUS.post(event);
+        } finally {
+            ModuleEventPool.release(ModuleEventPool.ITEM_USED, event);
+        }
+    }
+    
+    /**
+     * Post a {@link BlockActivatedEvent} using a pooled instance.
+     * Nothing is allocated; listeners must not keep the event after they return.
+     * If the module is coalesced and the level is a server level, the activation is added to the tick's
+     * {@link BlockActivatedBatchEvent} instead, and if the event type is queued, a fresh instance is queued.
+     * Client-side activations are never coalesced or queued, since both are only flushed by the server tick.
+     *
+     * @param blockState The block state that was activated
+     * @param pos The position of the block
+     * @param level The level the block is in
+     * @param moduleId The ID of the module that owns the block
+     * @param activator The entity that activated the block
+     */
+    public static void postBlockActivated(BlockState blockState, BlockPos pos, Level level, String moduleId, Entity activator) {
+        if (COALESCER.isCoalesced(moduleId) && !level.isClientSide()) {
+            COALESCER.blockActivated(blockState, pos, level, moduleId, activator);
+            return;
+        }
+        if (QUEUE.isQueued(BlockActivatedEvent.class) && !level.isClientSide() && offer(new BlockActivatedEvent(blockState, pos, level, moduleId, activator))) {
+            return;
+        }
+        
+        BlockActivatedEvent event = ModuleEventPool.acquire(ModuleEventPool.BLOCK_ACTIVATED, BlockActivatedEvent::new);
+        event.fill(blockState, pos, level, moduleId, activator);
+        try {
+            MODULE_BUS.post(event);
+        } finally {
+            ModuleEventPool.release(ModuleEventPool.BLOCK_ACTIVATED, event);
+        }
+    }
+    
+    /**
+     * Check whether an event happened on the logical client. Queues are only drained by the server
+     * tick, so client-side events are always dispatched right away. Events that carry no level are
+     * taken to be server-side.
+     */
+    private static boolean isClientSide(ModuleEvent event) {
+        if (event instanceof BlockActivatedEvent activated) {
+            return activated.getLevel() != null && activated.getLevel().isClientSide();
+        }
+        if (event instanceof ItemUsedEvent used) {
+            return used.getUser() == null || used.getUser().level().isClientSide();
+        }
+        if (event instanceof EntitySpawnedEvent spawned) {
+            return spawned.getEntity() != null && spawned.getEntity().level().isClientSide();
+        }
+        return false;
+    }
+    
+    /**
+     * Creates the daemon threads that run thread-safe listeners.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "Eldritch Void Event Worker #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
     
     /**
      * Event fired when a module is loaded.
      */
-    public static class ModuleLoadedEvent extends Event {
+    public static class ModuleLoadedEvent extends ModuleEvent implements ModuleScopedEvent {
         private final Module module;
         
         /**
@@ -89,14 +531,22 @@ public class ModuleEventBus {
         public Module getModule() {
             return module;
         }
+        
+        @Override
+        public String getModuleId() {
+            return module.getModuleName();
+        }
     }
     
     /**
      * Event fired when a module's entity is spawned.
      */
-    public static class EntitySpawnedEvent extends Event {
-        private final Entity entity;
-        private final String moduleId;
+    public static class EntitySpawnedEvent extends ModuleEvent implements ModuleScopedEvent {
+        private Entity entity;
+        private String moduleId;
+        
+        private EntitySpawnedEvent() {
+        }
         
         /**
          * Create a new entity spawned event.
@@ -105,16 +555,26 @@ public class ModuleEventBus {
          * @param moduleId The ID of the module that spawned the entity
          */
         public EntitySpawnedEvent(Entity entity, String moduleId) {
+            fill(entity, moduleId);
+        }
+        
+        void fill(Entity entity, String moduleId) {
             this.entity = entity;
             this.moduleId = moduleId;
         }
         
+        @Override
+        void reset() {
+            fill(null, null);
+        }
+        
         /**
          * Get the entity that was spawned.
          *
          * @return The entity
          */
         public Entity getEntity() {
+            checkLive();
             return entity;
         }
         
@@ -123,7 +583,9 @@ public class ModuleEventBus {
          *
          * @return The module ID
          */
+        @Override
         public String getModuleId() {
+            checkLive();
             return moduleId;
         }
     }
@@ -131,10 +593,13 @@ public class ModuleEventBus {
     /**
      * Event fired when a module's item is used.
      */
-    public static class ItemUsedEvent extends Event {
-        private final ItemStack itemStack;
-        private final String moduleId;
-        private final Entity user;
+    public static class ItemUsedEvent extends ModuleEvent implements ModuleScopedEvent {
+        private ItemStack itemStack;
+        private String moduleId;
+        private Entity user;
+        
+        private ItemUsedEvent() {
+        }
         
         /**
          * Create a new item used event.
@@ -144,17 +609,27 @@ public class ModuleEventBus {
          * @param user The entity that used the item
          */
         public ItemUsedEvent(ItemStack itemStack, String moduleId, Entity user) {
+            fill(itemStack, moduleId, user);
+        }
+        
+        void fill(ItemStack itemStack, String moduleId, Entity user) {
             this.itemStack = itemStack;
             this.moduleId = moduleId;
             this.user = user;
         }
         
+        @Override
+        void reset() {
+            fill(null, null, null);
+        }
+        
         /**
          * Get the item stack that was used.
          *
          * @return The item stack
          */
         public ItemStack getItemStack() {
+            checkLive();
             return itemStack;
         }
         
@@ -163,7 +638,9 @@ public class ModuleEventBus {
          *
          * @return The module ID
          */
+        @Override
         public String getModuleId() {
+            checkLive();
             return moduleId;
         }
         
@@ -173,6 +650,7 @@ public class ModuleEventBus {
          * @return The user entity
          */
         public Entity getUser() {
+            checkLive();
             return user;
         }
     }
@@ -180,12 +658,15 @@ public class ModuleEventBus {
     /**
      * Event fired when a module's block is activated.
      */
-    public static class BlockActivatedEvent extends Event {
-        private final BlockState blockState;
-        private final BlockPos pos;
-        private final Level level;
-        private final String moduleId;
-        private final Entity activator;
+    public static class BlockActivatedEvent extends ModuleEvent implements ModuleScopedEvent {
+        private BlockState blockState;
+        private BlockPos pos;
+        private Level level;
+        private String moduleId;
+        private Entity activator;
+        
+        private BlockActivatedEvent() {
+        }
         
         /**
          * Create a new block activated event.
@@ -197,6 +678,10 @@ public class ModuleEventBus {
          * @param activator The entity that activated the block
          */
         public BlockActivatedEvent(BlockState blockState, BlockPos pos, Level level, String moduleId, Entity activator) {
+            fill(blockState, pos, level, moduleId, activator);
+        }
+        
+        void fill(BlockState blockState, BlockPos pos, Level level, String moduleId, Entity activator) {
             this.blockState = blockState;
             this.pos = pos;
             this.level = level;
@@ -204,12 +689,18 @@ public class ModuleEventBus {
             this.activator = activator;
         }
         
+        @Override
+        void reset() {
+            fill(null, null, null, null, null);
+        }
+        
         /**
          * Get the block state that was activated.
          *
          * @return The block state
          */
         public BlockState getBlockState() {
+            checkLive();
             return blockState;
         }
         
@@ -219,6 +710,7 @@ public class ModuleEventBus {
          * @return The block position
          */
         public BlockPos getPos() {
+            checkLive();
             return pos;
         }
         
@@ -228,6 +720,7 @@ public class ModuleEventBus {
          * @return The level
          */
         public Level getLevel() {
+            checkLive();
             return level;
         }
         
@@ -236,7 +729,9 @@ public class ModuleEventBus {
          *
          * @return The module ID
          */
+        @Override
         public String getModuleId() {
+            checkLive();
             return moduleId;
         }
         
@@ -246,7 +741,150 @@ public class ModuleEventBus {
          * @return The activator entity
          */
         public Entity getActivator() {
+            checkLive();
             return activator;
         }
     }
+    
+    /**
+     * Event fired at the end of a tick for every block of a coalesced module that was activated
+     * during the tick.
+     */
+    public static class BlockActivatedBatchEvent extends ModuleEvent implements ModuleScopedEvent {
+        private final BlockState blockState;
+        private final BlockPos pos;
+        private final Level level;
+        private final String moduleId;
+        private final int count;
+        private final List<Entity> activators;
+        
+        /**
+         * Create a new block activated batch event.
+         *
+         * @param blockState The block state of the last activation
+         * @param pos The position of the block
+         * @param level The level the block is in
+         * @param moduleId The ID of the module that owns the block
+         * @param count The number of activations merged into this event
+         * @param activators The distinct entities that activated the block
+         */
+        public BlockActivatedBatchEvent(BlockState blockState, BlockPos pos, Level level, String moduleId, int count, List<Entity> activators) {
+            this.blockState = blockState;
+            this.pos = pos;
+            this.level = level;
+            this.moduleId = moduleId;
+            this.count = count;
+            this.activators = activators;
+        }
+        
+        /**
+         * Get the block state of the last activation.
+         *
+         * @return The block state
+         */
+        public BlockState getBlockState() {
+            return blockState;
+        }
+        
+        /**
+         * Get the position of the block.
+         *
+         * @return The block position
+         */
+        public BlockPos getPos() {
+            return pos;
+        }
+        
+        /**
+         * Get the level the block is in.
+         *
+         * @return The level
+         */
+        public Level getLevel() {
+            return level;
+        }
+        
+        @Override
+        public String getModuleId() {
+            return moduleId;
+        }
+        
+        /**
+         * Get the number of activations during the tick.
+         *
+         * @return The activation count
+         */
+        public int getCount() {
+            return count;
+        }
+        
+        /**
+         * Get the distinct entities that activated the block, in order of first activation.
+         * Activations without an entity are counted but not listed.
+         *
+         * @return The activators
+         */
+        public List<Entity> getActivators() {
+            return activators;
+        }
+    }
+    
+    /**
+     * Event fired at the end of a tick for every item of a coalesced module that was used during
+     * the tick.
+     */
+    public static class ItemUsedBatchEvent extends ModuleEvent implements ModuleScopedEvent {
+        private final Item item;
+        private final String moduleId;
+        private final int count;
+        private final List<Entity> users;
+        
+        /**
+         * Create a new item used batch event.
+         *
+         * @param item The item that was used
+         * @param moduleId The ID of the module that owns the item
+         * @param count The number of uses merged into this event
+         * @param users The distinct entities that used the item
+         */
+        public ItemUsedBatchEvent(Item item, String moduleId, int count, List<Entity> users) {
+            this.item = item;
+            this.moduleId = moduleId;
+            this.count = count;
+            this.users = users;
+        }
+        
+        /**
+         * Get the item that was used.
+         *
+         * @return The item
+         */
+        public Item getItem() {
+            return item;
+        }
+        
+        @Override
+        public String getModuleId() {
+            return moduleId;
+        }
+        
+        /**
+         * Get the number of uses during the tick.
+         *
+         * @return The use count
+         */
+        public int getCount() {
+            return count;
+        }
+        
+        /**
+         * Get the distinct entities that used the item, in order of first use.
+         * Uses without an entity are counted but not listed.
+         *
+         * @return The users
+         */
+        public List<Entity> getUsers() {
+            return users;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.eldritchvoid.core.event;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges repeated block activations and item uses of opted-in modules within one tick.
+ * Activations are keyed by level, position and module, item uses by item and module. At the end
+ * of the tick every key produces one batch event carrying the number of merged events and the
+ * distinct entities involved, in the order the keys were first seen. Only server-side events may be
+ * added, since batches are flushed by the server tick.
+ */
+final class ModuleEventCoalescer {
+    private final Set<String> modules = ConcurrentHashMap.newKeySet();
+    
+    private Map<BlockKey, BlockBatch> pendingBlocks = new LinkedHashMap<>();
+    private Map<ItemKey, ItemBatch> pendingItems = new LinkedHashMap<>();
+    
+    /**
+     * Turn coalescing on or off for a module.
+     *
+     * @param moduleId The module ID
+     * @param coalesced Whether the module's events are coalesced
+     */
+    void setCoalesced(String moduleId, boolean coalesced) {
+        if (coalesced) {
+            modules.add(moduleId);
+        } else {
+            modules.remove(moduleId);
+        }
+    }
+    
+    /**
+     * Check whether a module's events are coalesced.
+     *
+     * @param moduleId The module ID
+     * @return True if the module's events are coalesced
+     */
+    boolean isCoalesced(String moduleId) {
+        return !modules.isEmpty() && moduleId != null && modules.contains(moduleId);
+    }
+    
+    /**
+     * Add a block activation to the current tick's batch for its block.
+     *
+     * @param blockState The block state that was activated
+     * @param pos The position of the block
+     * @param level The level the block is in
+     * @param moduleId The ID of the module that owns the block
+     * @param activator The entity that activated the block, or null
+     */
+    synchronized void blockActivated(BlockState blockState, BlockPos pos, Level level, String moduleId, Entity activator) {
+        BlockBatch batch = pendingBlocks.computeIfAbsent(new BlockKey(level, pos.asLong(), moduleId), key -> new BlockBatch());
+        batch.blockState = blockState;
+        batch.add(activator);
+    }
+    
+    /**
+     * Add an item use to the current tick's batch for its item.
+     *
+     * @param item The item that was used
+     * @param moduleId The ID of the module that owns the item
+     * @param user The entity that used the item, or null
+     */
+    synchronized void itemUsed(Item item, String moduleId, Entity user) {
+        pendingItems.computeIfAbsent(new ItemKey(item, moduleId), key -> new ItemBatch()).add(user);
+    }
+    
+    /**
+     * Post one batch event per key collected since the last flush.
+     *
+     * @param bus The dispatcher to post the batches on
+     */
+    void flush(ModuleEventDispatcher bus) {
+        Map<BlockKey, BlockBatch> blocks;
+        Map<ItemKey, ItemBatch> items;
+        synchronized (this) {
+            if (pendingBlocks.isEmpty() && pendingItems.isEmpty()) return;
+            
+            // Swap so listeners that activate blocks again start next tick's batch
+            blocks = pendingBlocks;
+            items = pendingItems;
+            pendingBlocks = new LinkedHashMap<>();
+            pendingItems = new LinkedHashMap<>();
+        }
+        
+        for (Map.Entry<BlockKey, BlockBatch> entry : blocks.entrySet()) {
+            BlockKey key = entry.getKey();
+            BlockBatch batch = entry.getValue();
+            bus.post(new ModuleEventBus.BlockActivatedBatchEvent(batch.blockState, BlockPos.of(key.pos()), key.level(),
+                    key.moduleId(), batch.count, batch.entities));
+        }
+        for (Map.Entry<ItemKey, ItemBatch> entry : items.entrySet()) {
+            ItemKey key = entry.getKey();
+            ItemBatch batch = entry.getValue();
+            bus.post(new ModuleEventBus.ItemUsedBatchEvent(key.item(), key.moduleId(), batch.count, batch.entities));
+        }
+    }
+    
+    private record BlockKey(Level level, long pos, String moduleId) {
+    }
+    
+    private record ItemKey(Item item, String moduleId) {
+    }
+    
+    /**
+     * The number of merged events and the distinct entities behind them.
+     */
+    private static class Batch {
+        final List<Entity> entities = new ArrayList<>(2);
+        int count;
+        
+        void add(Entity entity) {
+            count++;
+            if (entity != null && !entities.contains(entity)) {
+                entities.add(entity);
+            }
+        }
+    }
+    
+    private static class BlockBatch extends Batch {
+        BlockState blockState;
+    }
+    
+    private static class ItemBatch extends Batch {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,515 @@
+package com.eldritchvoid.core.event;
+
+import com.eldritchvoid.EldritchVoid;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.ICancellableEvent;
+import net.neoforged.bus.api.SubscribeEvent;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Event bus for module events that lives entirely inside the mod.
+ * Annotated listener methods are taken from the class's compile-time {@link SubscriberIndex} when
+ * it has one; otherwise they are found reflectively and bound to invokers generated by
+ * {@link LambdaMetafactory}. Either way, calling them costs the same as calling a lambda. For every posted event class the listeners of
+ * that class and all of its supertypes are merged into one array sorted by priority, which is
+ * cached until the next registration; posting is then a flat loop over that array.
+ * Listeners can be scoped to one module. For {@link ModuleScopedEvent}s the cache also holds one
+ * array per module that has scoped listeners, so events posted by other modules never see them.
+ * Events can also be posted asynchronously, running thread-safe listeners on a worker executor and
+ * the rest on a main-thread executor.
+ * When {@link ListenerTimings} are set, every listener call and every post is timed, and when a
+ * {@link ModuleEventJournal} is set, every posted module event is recorded before it is dispatched.
+ * Events that are recorded when they are queued are dispatched later with {@link #deliver}, so they
+ * are not recorded twice.
+ */
+public class ModuleEventDispatcher {
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final MethodType ACCEPT_ERASED = MethodType.methodType(void.class, Object.class);
+    
+    private final Map<Class<?>, List<Listener>> listenersByType = new HashMap<>();
+    private final Map<Class<?>, Resolved> resolved = new ConcurrentHashMap<>();
+    private int nextSequence = 0;
+    private volatile ListenerTimings timings;
+    private volatile ModuleEventJournal journal;
+    
+    /**
+     * Start or stop timing listeners.
+     *
+     * @param timings The timings to record into, or null to stop timing
+     */
+    public void setTimings(ListenerTimings timings) {
+        this.timings = timings;
+    }
+    
+    /**
+     * Get the timings listeners are recorded into.
+     *
+     * @return The timings, or null if listeners are not timed
+     */
+    public ListenerTimings getTimings() {
+        return timings;
+    }
+    
+    /**
+     * Start or stop recording posted module events.
+     *
+     * @param journal The journal to record into, or null to stop recording
+     */
+    public void setJournal(ModuleEventJournal journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Get the journal posted module events are recorded into.
+     *
+     * @return The journal, or null if events are not recorded
+     */
+    public ModuleEventJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Add a listener for an event type and all of its subtypes.
+     *
+     * @param priority The listener priority
+     * @param receiveCanceled Whether the listener is called for events that were already canceled
+     * @param eventClass The event class to listen for
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> void addListener(EventPriority priority, boolean receiveCanceled, Class<T> eventClass, Consumer<T> consumer) {
+        addListener(priority, receiveCanceled, false, eventClass, consumer);
+    }
+    
+    /**
+     * Add a listener for an event type and all of its subtypes.
+     *
+     * @param priority The listener priority
+     * @param receiveCanceled Whether the listener is called for events that were already canceled
+     * @param threadSafe Whether the listener may be called off the main thread by {@link #postAsync}
+     * @param eventClass The event class to listen for
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> void addListener(EventPriority priority, boolean receiveCanceled, boolean threadSafe, Class<T> eventClass, Consumer<T> consumer) {
+        addListener(eventClass, new Listener((Consumer<Event>) consumer, priority, receiveCanceled, threadSafe, consumer.getClass().getName(), null));
+    }
+    
+    /**
+     * Add a listener that only receives events posted by one module.
+     *
+     * @param priority The listener priority
+     * @param receiveCanceled Whether the listener is called for events that were already canceled
+     * @param eventClass The event class to listen for
+     * @param moduleId The ID of the module whose events are received
+     * @param consumer The event consumer
+     * @param <T> The event type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event & ModuleScopedEvent> void addListener(EventPriority priority, boolean receiveCanceled, Class<T> eventClass, String moduleId, Consumer<T> consumer) {
+        if (moduleId == null) {
+            throw new IllegalArgumentException("Module ID of a scoped listener cannot be null");
+        }
+        addListener(eventClass, new Listener((Consumer<Event>) (Consumer<?>) consumer, priority, receiveCanceled, false, consumer.getClass().getName(), moduleId));
+    }
+    
+    /**
+     * Register every {@link SubscribeEvent} method of a listener object whose event type passes a filter.
+     * Instance methods are bound when an object is passed, static methods when a class is passed.
+     * Methods marked with {@link ThreadSafeListener} may be called off the main thread.
+     * Methods declared on superclasses are registered too, like the NeoForge bus does. A listener that
+     * is overridden in a subclass is registered once and calls the override.
+     * Each class's generated {@link SubscriberIndex} is used if it has one; only its private methods are
+     * then looked up reflectively.
+     *
+     * @param target The listener object or class
+     * @param eventFilter Decides which event types are handled by this dispatcher
+     * @return The number of methods that were skipped by the filter
+     */
+    public int register(Object target, Class<? extends Event> eventFilter) {
+        boolean isClass = target instanceof Class<?>;
+        Class<?> type = isClass ? (Class<?>) target : target.getClass();
+        
+        // Subclasses come first, so an overriding listener hides the one it overrides
+        Set<String> signatures = new HashSet<>();
+        int skipped = 0;
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            skipped += registerDeclared(target, current, isClass, eventFilter, signatures);
+        }
+        return skipped;
+    }
+    
+    private int registerDeclared(Object target, Class<?> type, boolean isClass, Class<? extends Event> eventFilter, Set<String> signatures) {
+        SubscriberIndex index = SubscriberIndex.find(type);
+        if (index == null) {
+            return registerReflectively(target, type, isClass, eventFilter, false, signatures);
+        }
+        
+        IndexRegistrar registrar = new IndexRegistrar(eventFilter, signatures);
+        index.register(target, registrar);
+        int skipped = registrar.skipped;
+        if (index.hasPrivateSubscribers()) {
+            skipped += registerReflectively(target, type, isClass, eventFilter, true, signatures);
+        }
+        return skipped;
+    }
+    
+    private int registerReflectively(Object target, Class<?> type, boolean isClass, Class<? extends Event> eventFilter, boolean privateOnly, Set<String> signatures) {
+        int skipped = 0;
+        
+        for (Method method : type.getDeclaredMethods()) {
+            SubscribeEvent annotation = method.getAnnotation(SubscribeEvent.class);
+            if (annotation == null || Modifier.isStatic(method.getModifiers()) != isClass) continue;
+            boolean isPrivate = Modifier.isPrivate(method.getModifiers());
+            if (privateOnly && !isPrivate) continue;
+            
+            Class<?>[] parameters = method.getParameterTypes();
+            if (parameters.length != 1 || !Event.class.isAssignableFrom(parameters[0])) {
+                EldritchVoid.LOGGER.error("Event listener {}.{} must take exactly one event parameter", type.getSimpleName(), method.getName());
+                continue;
+            }
+            // Private methods cannot be overridden
+            if (!isPrivate && !signatures.add(signature(method.getName(), parameters[0]))) continue;
+            if (!eventFilter.isAssignableFrom(parameters[0])) {
+                skipped++;
+                continue;
+            }
+            
+            Consumer<Event> invoker = bind(method, isClass ? null : target);
+            String owner = type.getName() + "." + method.getName();
+            boolean threadSafe = method.isAnnotationPresent(ThreadSafeListener.class);
+            addListener(parameters[0], new Listener(invoker, annotation.priority(), annotation.receiveCanceled(), threadSafe, owner, null));
+        }
+        
+        return skipped;
+    }
+    
+    private static String signature(String methodName, Class<?> eventClass) {
+        return methodName + "(" + eventClass.getName() + ")";
+    }
+    
+    private synchronized void addListener(Class<?> eventClass, Listener listener) {
+        listener.sequence = nextSequence++;
+        listenersByType.computeIfAbsent(eventClass, c -> new ArrayList<>()).add(listener);
+        resolved.clear();
+    }
+    
+    /**
+     * Post an event to every listener of its class and supertypes.
+     * A {@link ModuleScopedEvent} also reaches the listeners scoped to its module.
+     *
+     * @param event The event to post
+     * @param <T> The event type
+     * @return The posted event
+     */
+    public <T extends Event> T post(T event) {
+        record(event);
+        return deliver(event);
+    }
+    
+    /**
+     * Post an event that was already recorded, without recording it again.
+     *
+     * @param event The event to post
+     * @param <T> The event type
+     * @return The posted event
+     */
+    public <T extends Event> T deliver(T event) {
+        dispatch(listenersFor(event), event);
+        return event;
+    }
+    
+    /**
+     * Post an event without blocking the caller.
+     * Thread-safe listeners run first, in priority order, on the worker executor. The remaining
+     * listeners then run in priority order on the main-thread executor. The event is only ever
+     * touched by one thread at a time, but it must not be a pooled event.
+     *
+     * @param event The event to post
+     * @param worker Runs the thread-safe listeners
+     * @param mainThread Runs the other listeners
+     * @param <T> The event type
+     * @return A future completed with the event once every listener has run
+     */
+    public <T extends Event> CompletableFuture<T> postAsync(T event, Executor worker, Executor mainThread) {
+        record(event);
+        Listener[] listeners = listenersFor(event);
+        int threadSafeCount = 0;
+        for (Listener listener : listeners) {
+            if (listener.threadSafe) threadSafeCount++;
+        }
+        
+        Listener[] threadSafe = new Listener[threadSafeCount];
+        Listener[] deferred = new Listener[listeners.length - threadSafeCount];
+        int t = 0;
+        int d = 0;
+        for (Listener listener : listeners) {
+            if (listener.threadSafe) {
+                threadSafe[t++] = listener;
+            } else {
+                deferred[d++] = listener;
+            }
+        }
+        
+        CompletableFuture<Void> future = threadSafe.length > 0
+                ? CompletableFuture.runAsync(() -> dispatch(threadSafe, event), worker)
+                : CompletableFuture.completedFuture(null);
+        if (deferred.length > 0) {
+            future = future.thenRunAsync(() -> dispatch(deferred, event), mainThread);
+        }
+        return future.thenApply(v -> event);
+    }
+    
+    /**
+     * Record a module event into the journal, if there is one, without dispatching it.
+     *
+     * @param event The event to record; events that are not module events are ignored
+     */
+    public void record(Event event) {
+        ModuleEventJournal journal = this.journal;
+        if (journal != null && event instanceof ModuleEvent moduleEvent) {
+            journal.record(moduleEvent);
+        }
+    }
+    
+    private Listener[] listenersFor(Event event) {
+        Resolved byClass = resolve(event.getClass());
+        return event instanceof ModuleScopedEvent scoped
+                ? byClass.forModule(scoped.getModuleId())
+                : byClass.unscoped;
+    }
+    
+    private void dispatch(Listener[] listeners, Event event) {
+        ListenerTimings timings = this.timings;
+        if (timings != null) {
+            dispatchTimed(listeners, event, timings);
+            return;
+        }
+        
+        if (event instanceof ICancellableEvent cancellable) {
+            for (Listener listener : listeners) {
+                if (listener.receiveCanceled || !cancellable.isCanceled()) {
+                    invoke(listener, event);
+                }
+            }
+        } else {
+            for (Listener listener : listeners) {
+                invoke(listener, event);
+            }
+        }
+    }
+    
+    /**
+     * Check whether anything listens to an event class.
+     *
+     * @param eventClass The event class
+     * @return True if at least one listener would receive events of the class
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        Resolved byClass = resolve(eventClass);
+        return byClass.unscoped.length > 0 || !byClass.byModule.isEmpty();
+    }
+    
+    /**
+     * Check whether anything listens to events of a class posted by one module.
+     *
+     * @param eventClass The event class
+     * @param moduleId The ID of the posting module
+     * @return True if at least one listener would receive the module's events of the class
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass, String moduleId) {
+        return resolve(eventClass).forModule(moduleId).length > 0;
+    }
+    
+    private static void dispatchTimed(Listener[] listeners, Event event, ListenerTimings timings) {
+        ICancellableEvent cancellable = event instanceof ICancellableEvent c ? c : null;
+        long start = System.nanoTime();
+        
+        for (Listener listener : listeners) {
+            if (cancellable != null && !listener.receiveCanceled && cancellable.isCanceled()) continue;
+            
+            long before = System.nanoTime();
+            invoke(listener, event);
+            timings.recordListener(listener.owner, event.getClass(), System.nanoTime() - before);
+        }
+        
+        timings.recordPost(event.getClass(), System.nanoTime() - start);
+    }
+    
+    private static void invoke(Listener listener, Event event) {
+        try {
+            listener.invoker.accept(event);
+        } catch (Exception e) {
+            EldritchVoid.LOGGER.error("Error in event listener {} for {}: {}", listener.owner, event.getClass().getSimpleName(), e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Get the merged, priority-sorted listeners of an event class, building them if needed.
+     */
+    private Resolved resolve(Class<?> eventClass) {
+        Resolved listeners = resolved.get(eventClass);
+        if (listeners != null) return listeners;
+        
+        synchronized (this) {
+            List<Listener> unscoped = new ArrayList<>();
+            Map<String, List<Listener>> scoped = new HashMap<>();
+            for (Map.Entry<Class<?>, List<Listener>> entry : listenersByType.entrySet()) {
+                if (!entry.getKey().isAssignableFrom(eventClass)) continue;
+                
+                for (Listener listener : entry.getValue()) {
+                    if (listener.moduleId == null) {
+                        unscoped.add(listener);
+                    } else {
+                        scoped.computeIfAbsent(listener.moduleId, id -> new ArrayList<>()).add(listener);
+                    }
+                }
+            }
+            
+            // Each module's array holds its own listeners and the unscoped ones, in one order
+            Map<String, Listener[]> byModule = new HashMap<>();
+            for (Map.Entry<String, List<Listener>> entry : scoped.entrySet()) {
+                List<Listener> merged = new ArrayList<>(unscoped);
+                merged.addAll(entry.getValue());
+                byModule.put(entry.getKey(), sorted(merged));
+            }
+            
+            listeners = new Resolved(sorted(unscoped), Map.copyOf(byModule));
+            resolved.put(eventClass, listeners);
+            return listeners;
+        }
+    }
+    
+    private static Listener[] sorted(List<Listener> listeners) {
+        if (listeners.isEmpty()) return NO_LISTENERS;
+        
+        Listener[] array = listeners.toArray(NO_LISTENERS);
+        // Higher priorities first, registration order within a priority
+        Arrays.sort(array, Comparator.comparingInt((Listener l) -> l.priority.ordinal()).thenComparingInt(l -> l.sequence));
+        return array;
+    }
+    
+    /**
+     * Bind a listener method to a generated consumer, falling back to a method handle when the
+     * declaring class cannot be accessed with full privileges.
+     */
+    @SuppressWarnings("unchecked")
+    private static Consumer<Event> bind(Method method, Object target) {
+        Class<?> owner = method.getDeclaringClass();
+        boolean isStatic = target == null;
+        
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            
+            try {
+                MethodType factoryType = isStatic
+                        ? MethodType.methodType(Consumer.class)
+                        : MethodType.methodType(Consumer.class, owner);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "accept", factoryType, ACCEPT_ERASED, handle,
+                        MethodType.methodType(void.class, method.getParameterTypes()[0]));
+                return (Consumer<Event>) (isStatic ? site.getTarget().invoke() : site.getTarget().invoke(target));
+            } catch (Throwable e) {
+                EldritchVoid.LOGGER.debug("Falling back to a method handle for {}.{}: {}", owner.getSimpleName(), method.getName(), e.getMessage());
+                MethodHandle bound = (isStatic ? handle : handle.bindTo(target)).asType(ACCEPT_ERASED);
+                return event -> {
+                    try {
+                        bound.invokeExact((Object) event);
+                    } catch (RuntimeException | Error e2) {
+                        throw e2;
+                    } catch (Throwable e2) {
+                        throw new RuntimeException(e2);
+                    }
+                };
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access event listener " + owner.getName() + "." + method.getName(), e);
+        }
+    }
+    
+    /**
+     * Adds the listeners of a generated index, counting the ones that do not pass the filter.
+     */
+    private final class IndexRegistrar implements SubscriberIndex.Registrar {
+        private final Class<? extends Event> eventFilter;
+        private final Set<String> signatures;
+        private int skipped;
+        
+        private IndexRegistrar(Class<? extends Event> eventFilter, Set<String> signatures) {
+            this.eventFilter = eventFilter;
+            this.signatures = signatures;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Event> void add(Class<T> eventClass, EventPriority priority, boolean receiveCanceled, boolean threadSafe, String owner, Consumer<T> invoker) {
+            // The owner is the binary class name followed by the method name
+            if (!signatures.add(signature(owner.substring(owner.lastIndexOf('.') + 1), eventClass))) return;
+            if (!eventFilter.isAssignableFrom(eventClass)) {
+                skipped++;
+                return;
+            }
+            addListener(eventClass, new Listener((Consumer<Event>) invoker, priority, receiveCanceled, threadSafe, owner, null));
+        }
+    }
+    
+    /**
+     * The resolved listeners of one event class.
+     *
+     * @param unscoped The listeners that receive every event of the class
+     * @param byModule Per module with scoped listeners, those listeners merged with the unscoped ones
+     */
+    private record Resolved(Listener[] unscoped, Map<String, Listener[]> byModule) {
+        private Listener[] forModule(String moduleId) {
+            if (moduleId == null || byModule.isEmpty()) return unscoped;
+            
+            Listener[] listeners = byModule.get(moduleId);
+            return listeners != null ? listeners : unscoped;
+        }
+    }
+    
+    /**
+     * A bound listener with its dispatch settings.
+     */
+    private static final class Listener {
+        private final Consumer<Event> invoker;
+        private final EventPriority priority;
+        private final boolean receiveCanceled;
+        private final boolean threadSafe;
+        private final String owner;
+        private final String moduleId;
+        private int sequence;
+        
+        private Listener(Consumer<Event> invoker, EventPriority priority, boolean receiveCanceled, boolean threadSafe, String owner, String moduleId) {
+            this.invoker = invoker;
+            this.priority = priority;
+            this.receiveCanceled = receiveCanceled;
+            this.threadSafe = threadSafe;
+            this.owner = owner;
+            this.moduleId = moduleId;
+        }
+    }
+}
\ No newline at end of file
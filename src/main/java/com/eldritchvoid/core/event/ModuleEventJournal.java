@@ -0,0 +1,380 @@
+package com.eldritchvoid.core.event;
+
+import com.eldritchvoid.EldritchVoid;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Records posted module events into a compact binary file.
+ * Each record holds the event type, the tick it was posted in and the data that identifies it
+ * outside a running game: module ID, dimension, block position as a packed long, block or item
+ * registry name and entity IDs. Strings are written once and then referenced by index, ticks are
+ * stored as the difference to the previous record and numbers as variable-length integers, so a
+ * typical block activation takes around a dozen bytes.
+ * Journals are read back with {@link Reader}; {@link ModuleEventReplay} replays them against listeners.
+ */
+public class ModuleEventJournal implements Closeable {
+    /**
+     * The first four bytes of every journal.
+     */
+    public static final int MAGIC = 0x45564A31;
+    
+    // Record types
+    public static final int MODULE_LOADED = 1;
+    public static final int ENTITY_SPAWNED = 2;
+    public static final int ITEM_USED = 3;
+    public static final int BLOCK_ACTIVATED = 4;
+    public static final int BLOCK_ACTIVATED_BATCH = 5;
+    public static final int ITEM_USED_BATCH = 6;
+    
+    private static final int STRING = 0;
+    private static final int[] NO_ENTITIES = new int[0];
+    
+    private final Path file;
+    private final LongSupplier ticks;
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private long lastTick = 0;
+    private long records = 0;
+    private boolean closed = false;
+    
+    /**
+     * Create a journal, replacing any existing file.
+     *
+     * @param file The file to write to
+     * @param ticks Supplies the current tick for each record
+     * @throws IOException If the file cannot be created
+     */
+    public ModuleEventJournal(Path file, LongSupplier ticks) throws IOException {
+        this.file = file;
+        this.ticks = ticks;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+    }
+    
+    /**
+     * Record an event. Events of types the journal does not know are ignored.
+     *
+     * @param event The event
+     */
+    public synchronized void record(ModuleEvent event) {
+        if (closed) return;
+        
+        try {
+            if (event instanceof ModuleEventBus.BlockActivatedEvent activated) {
+                int dimension = stringId(dimensionOf(activated.getLevel()));
+                int block = stringId(blockOf(activated.getBlockState()));
+                beginRecord(BLOCK_ACTIVATED, activated.getModuleId());
+                writeVarInt(dimension);
+                out.writeLong(posOf(activated.getPos()));
+                writeVarInt(block);
+                writeVarInt(entityIdOf(activated.getActivator()));
+            } else if (event instanceof ModuleEventBus.ItemUsedEvent used) {
+                int item = stringId(itemOf(used.getItemStack() != null ? used.getItemStack().getItem() : null));
+                beginRecord(ITEM_USED, used.getModuleId());
+                writeVarInt(item);
+                writeVarInt(entityIdOf(used.getUser()));
+            } else if (event instanceof ModuleEventBus.EntitySpawnedEvent spawned) {
+                Entity entity = spawned.getEntity();
+                beginRecord(ENTITY_SPAWNED, spawned.getModuleId());
+                writeVarInt(entityIdOf(entity));
+                out.writeLong(entity != null ? posOf(entity.blockPosition()) : 0);
+            } else if (event instanceof ModuleEventBus.BlockActivatedBatchEvent batch) {
+                int dimension = stringId(dimensionOf(batch.getLevel()));
+                int block = stringId(blockOf(batch.getBlockState()));
+                beginRecord(BLOCK_ACTIVATED_BATCH, batch.getModuleId());
+                writeVarInt(dimension);
+                out.writeLong(posOf(batch.getPos()));
+                writeVarInt(block);
+                writeVarInt(batch.getCount());
+                writeEntities(batch.getActivators());
+            } else if (event instanceof ModuleEventBus.ItemUsedBatchEvent batch) {
+                int item = stringId(itemOf(batch.getItem()));
+                beginRecord(ITEM_USED_BATCH, batch.getModuleId());
+                writeVarInt(item);
+                writeVarInt(batch.getCount());
+                writeEntities(batch.getUsers());
+            } else if (event instanceof ModuleEventBus.ModuleLoadedEvent loaded) {
+                beginRecord(MODULE_LOADED, loaded.getModuleId());
+            } else {
+                return;
+            }
+            records++;
+        } catch (IOException e) {
+            EldritchVoid.LOGGER.error("Failed to write event journal {}, recording stopped", file, e);
+            closeQuietly();
+        }
+    }
+    
+    /**
+     * Get the file the journal is written to.
+     *
+     * @return The journal file
+     */
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Get the number of events recorded so far.
+     *
+     * @return The record count
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+    
+    /**
+     * Flush and close the journal. Later events are ignored.
+     *
+     * @throws IOException If the journal cannot be flushed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        out.close();
+    }
+    
+    private void closeQuietly() {
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // The write error was already reported
+        }
+    }
+    
+    private void beginRecord(int type, String moduleId) throws IOException {
+        int module = stringId(moduleId);
+        long tick = ticks.getAsLong();
+        out.writeByte(type);
+        writeVarLong(tick - lastTick);
+        writeVarInt(module);
+        lastTick = tick;
+    }
+    
+    /**
+     * Get the table index of a string plus one, writing its definition first if it is new.
+     * Zero stands for null.
+     */
+    private int stringId(String value) throws IOException {
+        if (value == null) return 0;
+        
+        Integer id = strings.get(value);
+        if (id == null) {
+            id = strings.size() + 1;
+            strings.put(value, id);
+            out.writeByte(STRING);
+            out.writeUTF(value);
+        }
+        return id;
+    }
+    
+    private void writeEntities(List<Entity> entities) throws IOException {
+        writeVarInt(entities.size());
+        for (Entity entity : entities) {
+            writeVarInt(entityIdOf(entity));
+        }
+    }
+    
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    // Entity IDs are stored plus one so that zero can stand for no entity
+    private static int entityIdOf(Entity entity) {
+        return entity != null ? entity.getId() + 1 : 0;
+    }
+    
+    private static long posOf(BlockPos pos) {
+        return pos != null ? pos.asLong() : 0;
+    }
+    
+    private static String dimensionOf(Level level) {
+        return level != null ? level.dimension().location().toString() : null;
+    }
+    
+    private static String blockOf(BlockState state) {
+        return state != null ? BuiltInRegistries.BLOCK.getKey(state.getBlock()).toString() : null;
+    }
+    
+    private static String itemOf(Item item) {
+        return item != null ? BuiltInRegistries.ITEM.getKey(item).toString() : null;
+    }
+    
+    /**
+     * One recorded event.
+     * Fields a type does not record are null, zero or empty.
+     *
+     * @param type The event type, one of the type constants of {@link ModuleEventJournal}
+     * @param tick The tick the event was posted in
+     * @param moduleId The ID of the module the event belongs to
+     * @param dimension The dimension of block events
+     * @param pos The packed position of block events and spawned entities
+     * @param key The registry name of the block or item
+     * @param count The number of merged events of batch events, otherwise 1
+     * @param entityIds The IDs of the entities involved
+     */
+    public record Entry(int type, long tick, String moduleId, String dimension, long pos, String key, int count, int[] entityIds) {
+    }
+    
+    /**
+     * Reads a journal back record by record.
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private long tick = 0;
+        
+        /**
+         * Open a journal.
+         *
+         * @param file The journal file
+         * @throws IOException If the file cannot be read or is not a journal
+         */
+        public Reader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException(file + " is not an event journal");
+            }
+        }
+        
+        /**
+         * Read the next record.
+         *
+         * @return The record, or null at the end of the journal
+         * @throws IOException If the journal cannot be read or is corrupt
+         */
+        public Entry next() throws IOException {
+            try {
+                int type;
+                while (true) {
+                    int b = in.read();
+                    if (b < 0) return null;
+                    if (b != STRING) {
+                        type = b;
+                        break;
+                    }
+                    strings.add(in.readUTF());
+                }
+                
+                tick += readVarLong();
+                String moduleId = string(readVarInt());
+                return switch (type) {
+                    case MODULE_LOADED -> new Entry(type, tick, moduleId, null, 0, null, 1, NO_ENTITIES);
+                    case ENTITY_SPAWNED -> {
+                        int[] entity = entity(readVarInt());
+                        yield new Entry(type, tick, moduleId, null, in.readLong(), null, 1, entity);
+                    }
+                    case ITEM_USED -> {
+                        String item = string(readVarInt());
+                        yield new Entry(type, tick, moduleId, null, 0, item, 1, entity(readVarInt()));
+                    }
+                    case BLOCK_ACTIVATED -> {
+                        String dimension = string(readVarInt());
+                        long pos = in.readLong();
+                        String block = string(readVarInt());
+                        yield new Entry(type, tick, moduleId, dimension, pos, block, 1, entity(readVarInt()));
+                    }
+                    case BLOCK_ACTIVATED_BATCH -> {
+                        String dimension = string(readVarInt());
+                        long pos = in.readLong();
+                        String block = string(readVarInt());
+                        int count = readVarInt();
+                        yield new Entry(type, tick, moduleId, dimension, pos, block, count, entities());
+                    }
+                    case ITEM_USED_BATCH -> {
+                        String item = string(readVarInt());
+                        int count = readVarInt();
+                        yield new Entry(type, tick, moduleId, null, 0, item, count, entities());
+                    }
+                    default -> throw new IOException("Unknown event journal record type " + type);
+                };
+            } catch (EOFException e) {
+                // The game stopped in the middle of a record
+                return null;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+        
+        private String string(int id) throws IOException {
+            if (id == 0) return null;
+            if (id > strings.size()) {
+                throw new IOException("Event journal references undefined string " + id);
+            }
+            return strings.get(id - 1);
+        }
+        
+        private int[] entity(int id) {
+            return id == 0 ? NO_ENTITIES : new int[] {id - 1};
+        }
+        
+        private int[] entities() throws IOException {
+            int[] ids = new int[readVarInt()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = readVarInt() - 1;
+            }
+            return ids;
+        }
+        
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed variable-length integer in event journal");
+        }
+        
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed variable-length integer in event journal");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.eldritchvoid.core.event;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread pools of reusable module events.
+ * Each pooled event type has a slot; a thread keeps a small stack of instances per slot so an
+ * event posted from inside a listener of the same type gets its own instance. Instances are
+ * reset when they are handed back, so they never keep entities or levels alive.
+ * Start the game with {@code -Deldritchvoid.debugEventPool=true} to catch listeners that keep a
+ * pooled event: every acquire then creates a fresh instance and released ones throw on access.
+ */
+public final class ModuleEventPool {
+    /**
+     * Whether escaped pooled events are detected.
+     */
+    public static final boolean DEBUG = Boolean.getBoolean("eldritchvoid.debugEventPool");
+    
+    static final int ENTITY_SPAWNED = 0;
+    static final int ITEM_USED = 1;
+    static final int BLOCK_ACTIVATED = 2;
+    private static final int SLOTS = 3;
+    
+    private static final ThreadLocal<ModuleEventPool> POOLS = ThreadLocal.withInitial(ModuleEventPool::new);
+    
+    private final ModuleEvent[][] instances = new ModuleEvent[SLOTS][2];
+    private final int[] depth = new int[SLOTS];
+    
+    private ModuleEventPool() {
+    }
+    
+    /**
+     * Take an event from the calling thread's pool, creating it if the pool is empty.
+     *
+     * @param slot The pool slot of the event type
+     * @param factory Creates a new instance
+     * @param <E> The event type
+     * @return An event ready to be filled
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends ModuleEvent> E acquire(int slot, Supplier<E> factory) {
+        if (DEBUG) {
+            return factory.get();
+        }
+        
+        ModuleEventPool pool = POOLS.get();
+        int level = pool.depth[slot]++;
+        ModuleEvent[] stack = pool.instances[slot];
+        if (level == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            pool.instances[slot] = stack;
+        }
+        
+        ModuleEvent event = stack[level];
+        if (event == null) {
+            event = factory.get();
+            stack[level] = event;
+        }
+        return (E) event;
+    }
+    
+    /**
+     * Hand an event back to the calling thread's pool after dispatch.
+     *
+     * @param slot The pool slot of the event type
+     * @param event The event taken from {@link #acquire}
+     */
+    static void release(int slot, ModuleEvent event) {
+        event.reset();
+        if (DEBUG) {
+            event.released = true;
+            return;
+        }
+        POOLS.get().depth[slot]--;
+    }
+}
\ No newline at end of file
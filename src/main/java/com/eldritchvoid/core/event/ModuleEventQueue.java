@@ -0,0 +1,255 @@
+package com.eldritchvoid.core.event;
+
+import com.eldritchvoid.core.util.Log2Histogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, priority-tiered queues for module event types that arrive in bursts.
+ * An event of a queued type is not dispatched when it is posted. It waits in its type's queue until
+ * the end of the tick, and at most a fixed budget of events per type is dispatched each tick, highest
+ * tier first. When a queue is at least half full, low tier events are sampled: only one in
+ * {@link #LOW_SAMPLE_RATE} is admitted. When a queue is full, a new event evicts the oldest queued
+ * event of a lower tier, or is dropped if there is none. Every queue counts what it admitted,
+ * delivered, sampled out, evicted and dropped, and how many ticks delivered events waited.
+ * Queued events are delivered after the tick they were posted in, so they are always fresh instances
+ * and listeners should check whether the entities they refer to still exist.
+ * Queues are drained by the server tick, so only server-side events are queued; events that happen
+ * on the logical client are always dispatched when they are posted.
+ */
+public final class ModuleEventQueue {
+    /**
+     * Under pressure, one in this many low tier events is admitted.
+     */
+    public static final int LOW_SAMPLE_RATE = 8;
+    
+    /**
+     * The tier of a queued event; higher tiers are delivered first and evicted last.
+     */
+    public enum Tier {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+    
+    private final Map<Class<?>, TypeQueue<?>> queues = new ConcurrentHashMap<>();
+    
+    /**
+     * Queue an event type.
+     *
+     * @param eventClass The event class; subclasses are not queued
+     * @param capacity The maximum number of waiting events
+     * @param perTickBudget The maximum number of events delivered per tick
+     * @param classifier Decides the tier of each event
+     * @param <E> The event type
+     */
+    <E extends ModuleEvent> void setQueued(Class<E> eventClass, int capacity, int perTickBudget, Function<? super E, Tier> classifier) {
+        if (capacity <= 0 || perTickBudget <= 0) {
+            throw new IllegalArgumentException("Queue capacity and budget must be positive, got " + capacity + " and " + perTickBudget);
+        }
+        queues.put(eventClass, new TypeQueue<>(eventClass, capacity, perTickBudget, classifier));
+    }
+    
+    /**
+     * Stop queueing an event type.
+     *
+     * @param eventClass The event class
+     * @return The events that were still waiting, in delivery order
+     */
+    List<ModuleEvent> clearQueued(Class<? extends ModuleEvent> eventClass) {
+        TypeQueue<?> queue = queues.remove(eventClass);
+        return queue != null ? queue.drainAll() : List.of();
+    }
+    
+    /**
+     * Check whether events of a class are queued.
+     *
+     * @param eventClass The event class
+     * @return True if the class is queued
+     */
+    boolean isQueued(Class<?> eventClass) {
+        return !queues.isEmpty() && queues.containsKey(eventClass);
+    }
+    
+    /**
+     * Queue an event if its type is queued.
+     *
+     * @param event The event
+     * @param tick The current tick
+     * @return True if the event's type is queued, whether or not the event itself was admitted
+     */
+    boolean offer(ModuleEvent event, long tick) {
+        if (queues.isEmpty()) return false;
+        
+        TypeQueue<?> queue = queues.get(event.getClass());
+        if (queue == null) return false;
+        
+        queue.offer(event, tick);
+        return true;
+    }
+    
+    /**
+     * Deliver up to each queue's budget of waiting events.
+     *
+     * Events are recorded into the journal when they are offered, so they are delivered without being
+     * recorded again.
+     *
+     * @param bus The dispatcher to post the events on
+     * @param tick The current tick
+     */
+    void drain(ModuleEventDispatcher bus, long tick) {
+        if (queues.isEmpty()) return;
+        
+        List<ModuleEvent> batch = new ArrayList<>();
+        for (TypeQueue<?> queue : queues.values()) {
+            queue.poll(batch, tick);
+            // Post outside the queue's lock so listeners can post events of the same type
+            for (ModuleEvent event : batch) {
+                bus.deliver(event);
+            }
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Drop every waiting event, for example when the server stops.
+     */
+    void clear() {
+        for (TypeQueue<?> queue : queues.values()) {
+            queue.dropAll();
+        }
+    }
+    
+    /**
+     * Build a human-readable report of every queue.
+     *
+     * @return The report lines
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Module event queues: %d queued types", queues.size()));
+        for (TypeQueue<?> queue : queues.values()) {
+            lines.add("  " + queue.describe());
+        }
+        return lines;
+    }
+    
+    /**
+     * An event waiting in a queue with the tick it was posted in.
+     */
+    private record Pending(ModuleEvent event, long tick) {
+    }
+    
+    /**
+     * The tiered queue and counters of one event type.
+     */
+    private static final class TypeQueue<E extends ModuleEvent> {
+        private final Class<E> eventClass;
+        private final int capacity;
+        private final int perTickBudget;
+        private final Function<? super E, Tier> classifier;
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<Pending>[] tiers = new ArrayDeque[Tier.values().length];
+        private final Log2Histogram latencyTicks = new Log2Histogram();
+        private int size;
+        private int lowSeen;
+        private long admitted;
+        private long delivered;
+        private long sampledOut;
+        private long evicted;
+        private long dropped;
+        private int peak;
+        
+        private TypeQueue(Class<E> eventClass, int capacity, int perTickBudget, Function<? super E, Tier> classifier) {
+            this.eventClass = eventClass;
+            this.capacity = capacity;
+            this.perTickBudget = perTickBudget;
+            this.classifier = classifier;
+            for (int i = 0; i < tiers.length; i++) {
+                tiers[i] = new ArrayDeque<>();
+            }
+        }
+        
+        private synchronized void offer(ModuleEvent event, long tick) {
+            Tier tier = classifier.apply(eventClass.cast(event));
+            
+            if (tier == Tier.LOW && size * 2 >= capacity && lowSeen++ % LOW_SAMPLE_RATE != 0) {
+                sampledOut++;
+                return;
+            }
+            
+            if (size >= capacity) {
+                // Make room by evicting the oldest event of the lowest tier below this one
+                ArrayDeque<Pending> victim = null;
+                for (int i = tiers.length - 1; i > tier.ordinal(); i--) {
+                    if (!tiers[i].isEmpty()) {
+                        victim = tiers[i];
+                        break;
+                    }
+                }
+                if (victim == null) {
+                    dropped++;
+                    return;
+                }
+                victim.pollFirst();
+                size--;
+                evicted++;
+            }
+            
+            tiers[tier.ordinal()].addLast(new Pending(event, tick));
+            size++;
+            admitted++;
+            peak = Math.max(peak, size);
+        }
+        
+        private synchronized void poll(List<ModuleEvent> into, long tick) {
+            int budget = perTickBudget;
+            for (ArrayDeque<Pending> tier : tiers) {
+                while (budget > 0 && !tier.isEmpty()) {
+                    Pending pending = tier.pollFirst();
+                    latencyTicks.record(tick - pending.tick());
+                    into.add(pending.event());
+                    budget--;
+                }
+            }
+            
+            int taken = perTickBudget - budget;
+            size -= taken;
+            delivered += taken;
+        }
+        
+        private synchronized List<ModuleEvent> drainAll() {
+            List<ModuleEvent> events = new ArrayList<>(size);
+            for (ArrayDeque<Pending> tier : tiers) {
+                for (Pending pending : tier) {
+                    events.add(pending.event());
+                }
+                tier.clear();
+            }
+            delivered += size;
+            size = 0;
+            return events;
+        }
+        
+        private synchronized void dropAll() {
+            for (ArrayDeque<Pending> tier : tiers) {
+                tier.clear();
+            }
+            dropped += size;
+            size = 0;
+        }
+        
+        private synchronized String describe() {
+            long[] buckets = new long[Log2Histogram.BUCKETS];
+            latencyTicks.addTo(buckets);
+            return String.format("%s: %d/%d waiting (peak %d), %d per tick; %d admitted, %d delivered, %d sampled out, %d evicted, %d dropped; wait p50 <= %d ticks, p99 <= %d ticks",
+                    eventClass.getSimpleName(), size, capacity, peak, perTickBudget, admitted, delivered, sampledOut, evicted, dropped,
+                    Log2Histogram.percentile(buckets, 0.5), Log2Histogram.percentile(buckets, 0.99));
+        }
+    }
+}
\ No newline at end of file
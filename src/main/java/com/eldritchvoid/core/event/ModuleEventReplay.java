@@ -0,0 +1,165 @@
+package com.eldritchvoid.core.event;
+
+import net.minecraft.core.BlockPos;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a {@link ModuleEventJournal} against listeners without a running game.
+ * Every record is turned back into its module event and posted on a dispatcher. Game objects such
+ * as levels, entities and block states do not exist offline and are null. Positions, module IDs
+ * and counts are restored. Listeners that need the rest of the record, such as entity IDs or
+ * registry names, can read it from {@link #current()}. Module loaded records are skipped, since no
+ * module exists to put in them.
+ * Run from the command line with
+ * {@code ModuleEventReplay [--repeat <n>] [--timings] <journal> <listener class>...}; listener classes
+ * with a no-argument constructor have their instance listeners registered, all have their static ones.
+ */
+public final class ModuleEventReplay {
+    private static ModuleEventJournal.Entry current;
+    
+    private final ModuleEventDispatcher bus;
+    
+    /**
+     * Create a replay that posts on a dispatcher.
+     *
+     * @param bus The dispatcher the listeners are registered on
+     */
+    public ModuleEventReplay(ModuleEventDispatcher bus) {
+        this.bus = bus;
+    }
+    
+    /**
+     * Get the journal record of the event that is being replayed.
+     *
+     * @return The record, or null outside a replay
+     */
+    public static ModuleEventJournal.Entry current() {
+        return current;
+    }
+    
+    /**
+     * Post every event of a journal, in order.
+     *
+     * @param journal The journal file
+     * @return What was replayed
+     * @throws IOException If the journal cannot be read
+     */
+    public Result replay(Path journal) throws IOException {
+        long posted = 0;
+        long skipped = 0;
+        long firstTick = -1;
+        long lastTick = 0;
+        long start = System.nanoTime();
+        
+        try (ModuleEventJournal.Reader reader = new ModuleEventJournal.Reader(journal)) {
+            ModuleEventJournal.Entry entry;
+            while ((entry = reader.next()) != null) {
+                if (firstTick < 0) firstTick = entry.tick();
+                lastTick = entry.tick();
+                
+                ModuleEvent event = toEvent(entry);
+                if (event == null) {
+                    skipped++;
+                    continue;
+                }
+                
+                current = entry;
+                try {
+                    bus.post(event);
+                } finally {
+                    current = null;
+                }
+                posted++;
+            }
+        }
+        
+        return new Result(posted, skipped, firstTick < 0 ? 0 : lastTick - firstTick + 1, System.nanoTime() - start);
+    }
+    
+    /**
+     * Rebuild the event of a record with everything that exists outside a running game.
+     *
+     * @param entry The record
+     * @return The event, or null if the record cannot be replayed
+     */
+    public static ModuleEvent toEvent(ModuleEventJournal.Entry entry) {
+        return switch (entry.type()) {
+            case ModuleEventJournal.ENTITY_SPAWNED -> new ModuleEventBus.EntitySpawnedEvent(null, entry.moduleId());
+            case ModuleEventJournal.ITEM_USED -> new ModuleEventBus.ItemUsedEvent(null, entry.moduleId(), null);
+            case ModuleEventJournal.BLOCK_ACTIVATED ->
+                    new ModuleEventBus.BlockActivatedEvent(null, BlockPos.of(entry.pos()), null, entry.moduleId(), null);
+            case ModuleEventJournal.BLOCK_ACTIVATED_BATCH ->
+                    new ModuleEventBus.BlockActivatedBatchEvent(null, BlockPos.of(entry.pos()), null, entry.moduleId(), entry.count(), List.of());
+            case ModuleEventJournal.ITEM_USED_BATCH ->
+                    new ModuleEventBus.ItemUsedBatchEvent(null, entry.moduleId(), entry.count(), List.of());
+            default -> null;
+        };
+    }
+    
+    /**
+     * Replay a journal from the command line and print how long the listeners took.
+     *
+     * @param args {@code [--repeat <n>] [--timings] <journal> <listener class>...}
+     * @throws Exception If the journal cannot be read or a listener class cannot be loaded
+     */
+    public static void main(String[] args) throws Exception {
+        int repeat = 1;
+        boolean timed = false;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--repeat" -> repeat = Integer.parseInt(args[++i]);
+                case "--timings" -> timed = true;
+                default -> positional.add(args[i]);
+            }
+        }
+        if (positional.isEmpty()) {
+            System.err.println("Usage: ModuleEventReplay [--repeat <n>] [--timings] <journal> <listener class>...");
+            System.exit(2);
+            return;
+        }
+        
+        ModuleEventDispatcher bus = new ModuleEventDispatcher();
+        for (String className : positional.subList(1, positional.size())) {
+            Class<?> type = Class.forName(className);
+            bus.register(type, ModuleEvent.class);
+            try {
+                bus.register(type.getDeclaredConstructor().newInstance(), ModuleEvent.class);
+            } catch (NoSuchMethodException e) {
+                System.out.println("No default constructor in " + className + ", only static listeners registered");
+            }
+        }
+        
+        ListenerTimings timings = timed ? new ListenerTimings() : null;
+        bus.setTimings(timings);
+        
+        ModuleEventReplay replay = new ModuleEventReplay(bus);
+        Path journal = Path.of(positional.get(0));
+        for (int run = 1; run <= repeat; run++) {
+            Result result = replay.replay(journal);
+            System.out.println(String.format("Run %d: %d events over %d ticks replayed in %d ms (%.0f events/s), %d skipped",
+                    run, result.posted(), result.ticks(), TimeUnit.NANOSECONDS.toMillis(result.nanos()),
+                    result.posted() * 1e9 / Math.max(1, result.nanos()), result.skipped()));
+        }
+        
+        if (timings != null) {
+            timings.report(Integer.MAX_VALUE).forEach(System.out::println);
+        }
+    }
+    
+    /**
+     * The outcome of one replay.
+     *
+     * @param posted The number of events posted
+     * @param skipped The number of records that could not be replayed
+     * @param ticks The number of ticks the journal covers
+     * @param nanos The time the replay took
+     */
+    public record Result(long posted, long skipped, long ticks, long nanos) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.eldritchvoid.core.event;
+
+/**
+ * A module event that belongs to one module.
+ * Listeners can subscribe to the events of a single module, see
+ * {@link ModuleEventBus#addListener(Class, String, java.util.function.Consumer)}.
+ */
+public interface ModuleScopedEvent {
+    /**
+     * Get the ID of the module the event belongs to.
+     *
+     * @return The module ID
+     */
+    String getModuleId();
+}
\ No newline at end of file
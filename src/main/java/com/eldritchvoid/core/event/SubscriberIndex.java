@@ -0,0 +1,75 @@
+package com.eldritchvoid.core.event;
+
+import com.eldritchvoid.EldritchVoid;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.EventPriority;
+
+import java.util.function.Consumer;
+
+/**
+ * Listener table of one class, generated at compile time by the subscriber index processor.
+ * For a class {@code Foo} the processor emits {@code Foo$EventSubscribers}, which adds every
+ * non-private {@link net.neoforged.bus.api.SubscribeEvent} method of {@code Foo} as a plain method
+ * reference. Registering such a class needs no reflective scan and no generated invokers.
+ * Private methods cannot be called from the generated class and are still bound reflectively.
+ * An index only covers the methods its class declares; the dispatcher looks up the index of every
+ * superclass separately.
+ */
+public interface SubscriberIndex {
+    /**
+     * Appended to the binary name of a class to get the name of its generated index.
+     */
+    String SUFFIX = "$EventSubscribers";
+    
+    /**
+     * Add the listeners of a target.
+     * Static methods are added when a class is passed, instance methods when an object is passed.
+     *
+     * @param target The listener object or class
+     * @param registrar Receives the listeners
+     */
+    void register(Object target, Registrar registrar);
+    
+    /**
+     * Check whether the class also has private listener methods that the index cannot call.
+     *
+     * @return True if the class has private listener methods
+     */
+    boolean hasPrivateSubscribers();
+    
+    /**
+     * Receives the listeners of an index.
+     */
+    interface Registrar {
+        /**
+         * Add one listener.
+         *
+         * @param eventClass The event class the listener takes
+         * @param priority The listener priority
+         * @param receiveCanceled Whether the listener is called for events that were already canceled
+         * @param threadSafe Whether the listener is marked with {@link ThreadSafeListener}
+         * @param owner The name of the listener method
+         * @param invoker Calls the listener method
+         * @param <T> The event type
+         */
+        <T extends Event> void add(Class<T> eventClass, EventPriority priority, boolean receiveCanceled, boolean threadSafe, String owner, Consumer<T> invoker);
+    }
+    
+    /**
+     * Load the generated index of a class.
+     *
+     * @param type The class
+     * @return The index, or null if the class has none
+     */
+    static SubscriberIndex find(Class<?> type) {
+        try {
+            Class<?> generated = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+            return (SubscriberIndex) generated.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            EldritchVoid.LOGGER.error("Failed to load subscriber index of {}", type.getName(), e);
+            return null;
+        }
+    }
+}
\ No newline at end of file
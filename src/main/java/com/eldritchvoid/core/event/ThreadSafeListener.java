@@ -0,0 +1,16 @@
+package com.eldritchvoid.core.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link net.neoforged.bus.api.SubscribeEvent} method as safe to call off the main thread.
+ * Events posted with {@link ModuleEventBus#postAsync} run such listeners on a worker thread; the
+ * listener must not touch levels, entities or any other game state.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ThreadSafeListener {
+}
\ No newline at end of file
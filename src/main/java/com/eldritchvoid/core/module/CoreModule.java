@@ -1,6 +1,15 @@
 package com.eldritchvoid.core.module;
 
 import com.eldritchvoid.EldritchVoid;
+import com.eldritchvoid.core.capability.EntityCapabilityStore;
+import com.eldritchvoid.core.command.EldritchCommands;
+import com.eldritchvoid.core.energy.VoidEnergyClock;
+import com.eldritchvoid.core.energy.VoidEnergyDirtySet;
+import com.eldritchvoid.core.energy.VoidEnergyNetworkManager;
+import com.eldritchvoid.core.energy.VoidEnergyTelemetry;
+import com.eldritchvoid.core.energy.VoidEnergyTickScheduler;
+import com.eldritchvoid.core.energy.WirelessEnergyNetwork;
+import com.eldritchvoid.core.event.ModuleEventBus;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 
 /**
@@ -29,9 +38,42 @@ public class CoreModule extends BaseModule {
         
         // Example of Core initialization logic
         registerNetworkChannels();
+        setupCapabilities();
+        setupModuleEvents();
+        setupVoidEnergy();
         setupVoidEssenceConversion();
     }
     
+    /**
+     * Set up the shared capability storage.
+     */
+    private void setupCapabilities() {
+        log("Setting up capability stores");
+        EntityCapabilityStore.init();
+    }
+    
+    /**
+     * Set up asynchronous module event delivery.
+     */
+    private void setupModuleEvents() {
+        log("Setting up module events");
+        ModuleEventBus.init();
+    }
+    
+    /**
+     * Set up the shared void energy systems.
+     */
+    private void setupVoidEnergy() {
+        log("Setting up void energy networks");
+        VoidEnergyClock.init();
+        VoidEnergyNetworkManager.init();
+        VoidEnergyDirtySet.init();
+        VoidEnergyTickScheduler.init();
+        WirelessEnergyNetwork.init();
+        VoidEnergyTelemetry.init();
+        EldritchCommands.init();
+    }
+    
     /**
      * Register network channels for module communication.
      */
@@ -0,0 +1,125 @@
+package com.eldritchvoid.core.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with power-of-two buckets for non-negative long values.
+ * Bucket 0 holds zero, bucket n holds values in [2^(n-1), 2^n). Recording is a leading-zero count
+ * and a striped increment, so it is cheap enough for hot paths and safe to call from any thread.
+ * Percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class Log2Histogram {
+    /**
+     * The number of buckets; enough for every non-negative long.
+     */
+    public static final int BUCKETS = 65;
+    
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    
+    /**
+     * Create a new empty histogram.
+     */
+    public Log2Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Record a value. Negative values are counted as zero.
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        counts[bucketOf(value)].increment();
+    }
+    
+    /**
+     * Add the current bucket counts to an array.
+     *
+     * @param into The array to add to, at least {@link #BUCKETS} long
+     */
+    public void addTo(long[] into) {
+        for (int i = 0; i < BUCKETS; i++) {
+            into[i] += counts[i].sum();
+        }
+    }
+    
+    /**
+     * Copy the current bucket counts into an array and reset them.
+     *
+     * @param into The array to overwrite, at least {@link #BUCKETS} long
+     */
+    public void drainTo(long[] into) {
+        for (int i = 0; i < BUCKETS; i++) {
+            into[i] = counts[i].sumThenReset();
+        }
+    }
+    
+    /**
+     * Reset all buckets.
+     */
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+    }
+    
+    /**
+     * Get the bucket a value falls in.
+     *
+     * @param value The value
+     * @return The bucket index
+     */
+    public static int bucketOf(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+    
+    /**
+     * Get the largest value that falls in a bucket.
+     *
+     * @param bucket The bucket index
+     * @return The inclusive upper bound of the bucket
+     */
+    public static long upperBound(int bucket) {
+        if (bucket <= 0) return 0;
+        if (bucket >= 64) return Long.MAX_VALUE;
+        return (1L << bucket) - 1;
+    }
+    
+    /**
+     * Get the total number of values in a set of bucket counts.
+     *
+     * @param buckets The bucket counts
+     * @return The number of recorded values
+     */
+    public static long total(long[] buckets) {
+        long total = 0;
+        for (long count : buckets) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Estimate a percentile from a set of bucket counts.
+     *
+     * @param buckets The bucket counts
+     * @param percentile The percentile, from 0.0 to 1.0
+     * @return The upper bound of the bucket holding the percentile, or 0 if the counts are empty
+     */
+    public static long percentile(long[] buckets, double percentile) {
+        long total = total(buckets);
+        if (total == 0) return 0;
+        
+        long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.eldritchvoid.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Uniform-grid spatial hash over block positions.
+ * Values are bucketed into cubic cells, so a range query only visits the cells that overlap
+ * the query cube instead of scanning every value. Intended for one index per dimension.
+ *
+ * @param <T> The type of indexed value
+ */
+public class SpatialHashIndex<T> {
+    private final int cellShift;
+    private final Long2ObjectOpenHashMap<List<Entry<T>>> cells = new Long2ObjectOpenHashMap<>();
+    private int size = 0;
+    
+    /**
+     * Create a new spatial index.
+     *
+     * @param cellSizeLog2 The cell edge length as a power of two, e.g. 4 for 16-block cells
+     */
+    public SpatialHashIndex(int cellSizeLog2) {
+        this.cellShift = cellSizeLog2;
+    }
+    
+    /**
+     * Add a value at a position.
+     *
+     * @param pos The position
+     * @param value The value
+     */
+    public void insert(BlockPos pos, T value) {
+        long key = cellKey(pos.getX() >> cellShift, pos.getY() >> cellShift, pos.getZ() >> cellShift);
+        List<Entry<T>> cell = cells.get(key);
+        if (cell == null) {
+            cell = new ArrayList<>(4);
+            cells.put(key, cell);
+        }
+        cell.add(new Entry<>(pos.getX(), pos.getY(), pos.getZ(), value));
+        size++;
+    }
+    
+    /**
+     * Remove a value from a position.
+     *
+     * @param pos The position the value was inserted at
+     * @param value The value
+     * @return True if the value was found and removed
+     */
+    public boolean remove(BlockPos pos, T value) {
+        long key = cellKey(pos.getX() >> cellShift, pos.getY() >> cellShift, pos.getZ() >> cellShift);
+        List<Entry<T>> cell = cells.get(key);
+        if (cell == null) return false;
+        
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i).value == value) {
+                cell.remove(i);
+                size--;
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Visit every value within a Euclidean distance of a position.
+     *
+     * @param center The center of the query
+     * @param range The maximum distance in blocks
+     * @param visitor The visitor called for each value in range
+     */
+    public void query(BlockPos center, int range, Consumer<T> visitor) {
+        int cx = center.getX();
+        int cy = center.getY();
+        int cz = center.getZ();
+        long rangeSq = (long) range * range;
+        
+        int minX = (cx - range) >> cellShift;
+        int minY = (cy - range) >> cellShift;
+        int minZ = (cz - range) >> cellShift;
+        int maxX = (cx + range) >> cellShift;
+        int maxY = (cy + range) >> cellShift;
+        int maxZ = (cz + range) >> cellShift;
+        
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<Entry<T>> cell = cells.get(cellKey(x, y, z));
+                    if (cell == null) continue;
+                    
+                    for (int i = 0; i < cell.size(); i++) {
+                        Entry<T> entry = cell.get(i);
+                        long dx = entry.x - cx;
+                        long dy = entry.y - cy;
+                        long dz = entry.z - cz;
+                        if (dx * dx + dy * dy + dz * dz <= rangeSq) {
+                            visitor.accept(entry.value);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get the number of indexed values.
+     *
+     * @return The value count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Pack cell coordinates into a single key, 21 bits per axis.
+     */
+    private static long cellKey(int x, int y, int z) {
+        return ((long) x & 0x1FFFFFL) << 42 | ((long) y & 0x1FFFFFL) << 21 | ((long) z & 0x1FFFFFL);
+    }
+    
+    /**
+     * An indexed value with its position.
+     */
+    private record Entry<T>(int x, int y, int z, T value) {
+    }
+}
\ No newline at end of file
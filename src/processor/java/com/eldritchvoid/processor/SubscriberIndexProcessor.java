@@ -0,0 +1,186 @@
+package com.eldritchvoid.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a subscriber index for every class with {@code @SubscribeEvent} methods.
+ * For a class {@code Foo} the index is {@code Foo$EventSubscribers} in the same package. It adds each
+ * non-private listener method as a method reference, so the module event dispatcher can register the
+ * class without scanning it. Private methods are left to the dispatcher's reflective fallback.
+ * Classes the generated code cannot see, such as private nested classes, get no index.
+ */
+@SupportedAnnotationTypes(SubscriberIndexProcessor.SUBSCRIBE_EVENT)
+public class SubscriberIndexProcessor extends AbstractProcessor {
+    static final String SUBSCRIBE_EVENT = "net.neoforged.bus.api.SubscribeEvent";
+    
+    private static final String EVENT = "net.neoforged.bus.api.Event";
+    private static final String THREAD_SAFE_LISTENER = "com.eldritchvoid.core.event.ThreadSafeListener";
+    private static final String SUBSCRIBER_INDEX = "com.eldritchvoid.core.event.SubscriberIndex";
+    private static final String EVENT_PRIORITY = "net.neoforged.bus.api.EventPriority";
+    private static final String SUFFIX = "$EventSubscribers";
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (annotations.isEmpty()) return false;
+        
+        Map<TypeElement, List<ExecutableElement>> byClass = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) continue;
+                byClass.computeIfAbsent((TypeElement) element.getEnclosingElement(), type -> new ArrayList<>())
+                        .add((ExecutableElement) element);
+            }
+        }
+        
+        for (Map.Entry<TypeElement, List<ExecutableElement>> entry : byClass.entrySet()) {
+            if (isIndexable(entry.getKey())) {
+                writeIndex(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        // Other processors may look at @SubscribeEvent too
+        return false;
+    }
+    
+    /**
+     * Check whether generated code in the same package can reach a class.
+     */
+    private static boolean isIndexable(TypeElement type) {
+        if (type.getKind() == ElementKind.INTERFACE || type.getKind() == ElementKind.ANNOTATION_TYPE) return false;
+        
+        Element current = type;
+        while (current instanceof TypeElement) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) return false;
+            current = current.getEnclosingElement();
+        }
+        // Local and anonymous classes are enclosed by methods
+        return current instanceof PackageElement;
+    }
+    
+    private void writeIndex(TypeElement type, List<ExecutableElement> methods) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + SUFFIX;
+        String targetType = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        TypeMirror eventType = processingEnv.getTypeUtils().erasure(processingEnv.getElementUtils().getTypeElement(EVENT).asType());
+        
+        List<String> staticLines = new ArrayList<>();
+        List<String> instanceLines = new ArrayList<>();
+        boolean hasPrivate = false;
+        
+        for (ExecutableElement method : methods) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                hasPrivate = true;
+                continue;
+            }
+            
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameters.size() != 1 || !processingEnv.getTypeUtils().isAssignable(parameters.get(0).asType(), eventType)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Event listener must take exactly one event parameter; it is left out of the subscriber index", method);
+                continue;
+            }
+            
+            boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+            String parameterType = processingEnv.getTypeUtils().erasure(parameters.get(0).asType()).toString();
+            String line = String.format("registrar.add(%s.class, %s.%s, %b, %b, \"%s.%s\", %s::%s);",
+                    parameterType, EVENT_PRIORITY, priorityOf(method), receiveCanceledOf(method), isThreadSafe(method),
+                    binaryName, method.getSimpleName(), isStatic ? targetType : "instance", method.getSimpleName());
+            (isStatic ? staticLines : instanceLines).add(line);
+        }
+        
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated subscriber index of {@link ").append(targetType).append("}.\n */\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(SUBSCRIBER_INDEX).append(" {\n");
+        source.append("    @Override\n");
+        source.append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        source.append("    public void register(Object target, ").append(SUBSCRIBER_INDEX).append(".Registrar registrar) {\n");
+        source.append("        if (target instanceof Class<?>) {\n");
+        for (String line : staticLines) {
+            source.append("            ").append(line).append('\n');
+        }
+        source.append("            return;\n");
+        source.append("        }\n");
+        if (!instanceLines.isEmpty()) {
+            source.append("        ").append(targetType).append(" instance = (").append(targetType).append(") target;\n");
+            for (String line : instanceLines) {
+                source.append("        ").append(line).append('\n');
+            }
+        }
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public boolean hasPrivateSubscribers() {\n");
+        source.append("        return ").append(hasPrivate).append(";\n");
+        source.append("    }\n");
+        source.append("}\n");
+        
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write subscriber index: " + e.getMessage(), type);
+        }
+    }
+    
+    private static String priorityOf(ExecutableElement method) {
+        AnnotationValue value = annotationValue(method, "priority");
+        return value != null ? ((VariableElement) value.getValue()).getSimpleName().toString() : "NORMAL";
+    }
+    
+    private static boolean receiveCanceledOf(ExecutableElement method) {
+        AnnotationValue value = annotationValue(method, "receiveCanceled");
+        return value != null && (Boolean) value.getValue();
+    }
+    
+    private static boolean isThreadSafe(ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(THREAD_SAFE_LISTENER)) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Get an explicitly set value of the method's {@code @SubscribeEvent}, or null for the default.
+     */
+    private static AnnotationValue annotationValue(ExecutableElement method, String name) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(SUBSCRIBE_EVENT)) continue;
+            
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(name)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file